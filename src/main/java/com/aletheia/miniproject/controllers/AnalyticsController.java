@@ -0,0 +1,33 @@
+package com.aletheia.miniproject.controllers;
+
+import com.aletheia.miniproject.core.analytics.PriceAnalytics;
+import com.aletheia.miniproject.core.analytics.PriceAnalytics.PriceQuantiles;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Asking price quantiles, e.g. /api/analytics/prices?categoryId=1&amp;categoryId=2&amp;q=0.5&amp;q=0.9
+ */
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    private final PriceAnalytics priceAnalytics;
+
+    public AnalyticsController(PriceAnalytics priceAnalytics) {
+        this.priceAnalytics = priceAnalytics;
+    }
+
+    @GetMapping("/prices")
+    public PriceQuantiles prices(
+            @RequestParam(required = false) List<Long> categoryId,
+            @RequestParam(required = false) Long associationId,
+            @RequestParam(defaultValue = "0.5,0.9") double[] q
+    ) {
+        return priceAnalytics.quantiles(categoryId, associationId, q);
+    }
+}
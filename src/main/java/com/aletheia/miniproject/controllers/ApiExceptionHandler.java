@@ -0,0 +1,45 @@
+package com.aletheia.miniproject.controllers;
+
+import com.aletheia.miniproject.core.admission.TooManyRequestsException;
+import com.aletheia.miniproject.core.facade.RessourcerieConflictException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps the facade's validation errors to HTTP statuses for every /api controller:
+ * IllegalArgumentException is a bad request, RessourcerieConflictException a conflict
+ * with the current data (unknown id, wrong status, not allowed).
+ * Other failures stay server errors. Shed calls get 429 with a Retry-After header.
+ */
+@RestControllerAdvice(assignableTypes = {
+        RessourcerieApiController.class,
+        DemandEventsController.class,
+        ReadModelController.class,
+        AnalyticsController.class,
+        GeneratorController.class,
+        AuditController.class,
+        CacheStatsController.class
+})
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail badRequest(IllegalArgumentException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    @ExceptionHandler(RessourcerieConflictException.class)
+    public ProblemDetail conflict(RessourcerieConflictException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage());
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ProblemDetail> tooManyRequests(TooManyRequestsException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS, e.getMessage()));
+    }
+}
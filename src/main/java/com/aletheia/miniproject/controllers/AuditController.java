@@ -0,0 +1,34 @@
+package com.aletheia.miniproject.controllers;
+
+import com.aletheia.miniproject.core.audit.Transition;
+import com.aletheia.miniproject.core.audit.TransitionJournal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Reads the status history kept by the TransitionJournal.
+ */
+@RestController
+@RequestMapping("/api/audit")
+public class AuditController {
+
+    private final TransitionJournal transitions;
+
+    public AuditController(TransitionJournal transitions) {
+        this.transitions = transitions;
+    }
+
+    @GetMapping("/offers/{offerId}/transitions")
+    public List<Transition> ofOffer(@PathVariable long offerId) {
+        return transitions.ofOffer(offerId);
+    }
+
+    @GetMapping("/members/{memberId}/transitions")
+    public List<Transition> ofMember(@PathVariable long memberId) {
+        return transitions.ofMember(memberId);
+    }
+}
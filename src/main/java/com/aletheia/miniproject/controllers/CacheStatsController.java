@@ -0,0 +1,60 @@
+package com.aletheia.miniproject.controllers;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Exposes the Hibernate second-level and query cache statistics.
+ */
+@RestController
+public class CacheStatsController {
+
+    private final Statistics statistics;
+
+    public CacheStatsController(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public record RegionStats(String region, long hits, long misses, long puts, long elementsInMemory) {
+    }
+
+    public record CacheStats(
+            long secondLevelHits,
+            long secondLevelMisses,
+            long queryCacheHits,
+            long queryCacheMisses,
+            long queriesExecuted,
+            List<RegionStats> regions
+    ) {
+    }
+
+    @GetMapping("/api/admin/cache-stats")
+    public CacheStats cacheStats() {
+        List<RegionStats> regions = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(name -> {
+                    CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+                    return region == null
+                            ? new RegionStats(name, 0, 0, 0, 0)
+                            : new RegionStats(name, region.getHitCount(), region.getMissCount(),
+                            region.getPutCount(), region.getElementCountInMemory());
+                })
+                .toList();
+
+        return new CacheStats(
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(),
+                statistics.getQueryExecutionCount(),
+                regions
+        );
+    }
+}
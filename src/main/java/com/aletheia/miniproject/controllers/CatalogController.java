@@ -0,0 +1,111 @@
+package com.aletheia.miniproject.controllers;
+
+import com.aletheia.miniproject.controllers.CatalogFragmentCache.Fragment;
+import com.aletheia.miniproject.core.entities.OfferStatus;
+import com.aletheia.miniproject.core.readmodel.OfferReadModel;
+import com.aletheia.miniproject.core.readmodel.OfferView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+
+/**
+ * Server-rendered catalog for anonymous browsing. Pages are thin shells around
+ * fragments served by the CatalogFragmentCache; on a miss the fragment is rendered
+ * from the OfferReadModel, never from the storage engine.
+ */
+@Controller
+@RequestMapping("/catalog")
+public class CatalogController {
+
+    private final OfferReadModel readModel;
+    private final CatalogFragmentCache fragments;
+    private final int pageSize;
+
+    public CatalogController(
+            OfferReadModel readModel,
+            CatalogFragmentCache fragments,
+            @Value("${ressourcerie.catalog.page-size:20}") int pageSize
+    ) {
+        if (pageSize <= 0) throw new IllegalArgumentException("ressourcerie.catalog.page-size must be > 0");
+        this.readModel = readModel;
+        this.fragments = fragments;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * OPEN offers, newest first, optionally restricted to a category.
+     */
+    @GetMapping
+    public String offers(@RequestParam(required = false) Long categoryId, @RequestParam(defaultValue = "0") int page, Model model) {
+        if (categoryId != null && categoryId <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "categoryId is invalid: " + categoryId);
+        }
+        if (page < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page cannot be negative");
+        }
+
+        model.addAttribute("categoryId", categoryId);
+        model.addAttribute("fragment", fragments.render(Fragment.OFFER_LIST, categoryId, page, () -> {
+            List<OfferView> open = (categoryId == null ? readModel.listOffers() : readModel.listOffersByCategory(categoryId))
+                    .reversed().stream()
+                    .filter(o -> o.status() == OfferStatus.OPEN)
+                    .toList();
+
+            int from = Math.min(page * pageSize, open.size());
+            int to = Math.min(from + pageSize, open.size());
+
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("offers", open.subList(from, to));
+            variables.put("categoryId", categoryId);
+            variables.put("page", page);
+            variables.put("hasPrevious", page > 0);
+            variables.put("hasNext", to < open.size());
+            return variables;
+        }));
+        return "catalog/offers";
+    }
+
+    @GetMapping("/offers/{offerId}")
+    public String offer(@PathVariable Long offerId, Model model) {
+        OfferView offer = readModel.findOffer(offerId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Offer not found: " + offerId));
+
+        model.addAttribute("offer", offer);
+        model.addAttribute("fragment", fragments.render(Fragment.OFFER_DETAIL, offerId, 0,
+                () -> Map.of("offer", offer)));
+        return "catalog/offer";
+    }
+
+    /**
+     * Offer counts per status and the OPEN offers of one association.
+     */
+    @GetMapping("/associations/{associationId}")
+    public String association(@PathVariable Long associationId, Model model) {
+        model.addAttribute("associationId", associationId);
+        model.addAttribute("fragment", fragments.render(Fragment.ASSOCIATION_DASHBOARD, associationId, 0, () -> {
+            List<OfferView> offers = readModel.listOffers().stream()
+                    .filter(o -> associationId.equals(o.associationId()))
+                    .toList();
+
+            Map<OfferStatus, Long> countByStatus = new EnumMap<>(OfferStatus.class);
+            for (OfferStatus status : OfferStatus.values()) countByStatus.put(status, 0L);
+            offers.forEach(o -> countByStatus.merge(o.status(), 1L, Long::sum));
+
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("associationId", associationId);
+            variables.put("associationName", offers.isEmpty() ? null : offers.getFirst().associationName());
+            variables.put("countByStatus", countByStatus);
+            variables.put("openOffers", offers.reversed().stream().filter(o -> o.status() == OfferStatus.OPEN).toList());
+            return variables;
+        }));
+        return "catalog/association";
+    }
+}
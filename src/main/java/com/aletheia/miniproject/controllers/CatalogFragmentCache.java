@@ -0,0 +1,115 @@
+package com.aletheia.miniproject.controllers;
+
+import com.aletheia.miniproject.core.readmodel.OfferReadModelRebuilt;
+import com.aletheia.miniproject.core.readmodel.OfferView;
+import com.aletheia.miniproject.core.readmodel.OfferViewChanged;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * LRU cache of rendered catalog fragments (templates/catalog/fragments.html),
+ * keyed by fragment, category or offer or association id, and page.
+ * Entries are evicted from the OfferReadModel events: a changed offer evicts its
+ * detail, its association dashboard and every list page it can appear on.
+ */
+@Component
+public class CatalogFragmentCache {
+    private static final String TEMPLATE = "catalog/fragments";
+
+    public enum Fragment {
+        OFFER_LIST("offer-list"),
+        OFFER_DETAIL("offer-detail"),
+        ASSOCIATION_DASHBOARD("association-dashboard");
+
+        private final String selector;
+
+        Fragment(String selector) {
+            this.selector = selector;
+        }
+    }
+
+    private record Key(Fragment fragment, Long id, int page) {
+    }
+
+    private final ITemplateEngine templateEngine;
+    private final Map<Key, String> html;
+
+    // Bumped on every eviction, so that a fragment rendered from older data is not cached
+    private long generation;
+
+    public CatalogFragmentCache(
+            ITemplateEngine templateEngine,
+            @Value("${ressourcerie.catalog.cache.max-entries:1000}") int maxEntries
+    ) {
+        if (maxEntries <= 0) throw new IllegalArgumentException("ressourcerie.catalog.cache.max-entries must be > 0");
+        this.templateEngine = templateEngine;
+        this.html = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, String> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @return the cached HTML of the fragment, rendered with the given variables on a miss
+     */
+    public String render(Fragment fragment, Long id, int page, Supplier<Map<String, Object>> variables) {
+        Key key = new Key(fragment, id, page);
+        long renderedAt;
+        synchronized (html) {
+            String cached = html.get(key);
+            if (cached != null) return cached;
+            renderedAt = generation;
+        }
+
+        Context context = new Context();
+        context.setVariables(variables.get());
+        String rendered = templateEngine.process(TEMPLATE, Set.of(fragment.selector), context);
+
+        synchronized (html) {
+            if (renderedAt == generation) html.put(key, rendered);
+        }
+        return rendered;
+    }
+
+    @EventListener
+    public void offerChanged(OfferViewChanged event) {
+        OfferView offer = event.offer();
+        synchronized (html) {
+            html.keySet().removeIf(key -> switch (key.fragment()) {
+                case OFFER_LIST -> key.id() == null || offer.categoryIds().contains(key.id());
+                case OFFER_DETAIL -> Objects.equals(key.id(), offer.id());
+                case ASSOCIATION_DASHBOARD -> Objects.equals(key.id(), offer.associationId());
+            });
+            generation++;
+        }
+    }
+
+    @EventListener
+    public void readModelRebuilt(OfferReadModelRebuilt event) {
+        clear();
+    }
+
+    public void clear() {
+        synchronized (html) {
+            html.clear();
+            generation++;
+        }
+    }
+
+    public int size() {
+        synchronized (html) {
+            return html.size();
+        }
+    }
+}
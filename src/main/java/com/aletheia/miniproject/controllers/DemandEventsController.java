@@ -0,0 +1,35 @@
+package com.aletheia.miniproject.controllers;
+
+import com.aletheia.miniproject.notifications.DemandRankNotifier;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+public class DemandEventsController {
+
+    private final DemandRankNotifier rankNotifier;
+
+    public DemandEventsController(DemandRankNotifier rankNotifier) {
+        this.rankNotifier = rankNotifier;
+    }
+
+    /**
+     * Streams the rank of a demand instead of polling getDemandRank.
+     */
+    @GetMapping(path = "/demands/{demandId}/rank/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter demandRank(@PathVariable Long demandId) {
+        return rankNotifier.subscribeDemand(demandId);
+    }
+
+    /**
+     * Streams the PENDING queue of an offer to a contact of its association.
+     */
+    @GetMapping(path = "/offers/{offerId}/queue/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter offerQueue(@PathVariable Long offerId, @RequestParam Long contactId) {
+        return rankNotifier.subscribeOffer(contactId, offerId);
+    }
+}
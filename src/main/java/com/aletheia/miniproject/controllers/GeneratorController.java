@@ -0,0 +1,67 @@
+package com.aletheia.miniproject.controllers;
+
+import com.aletheia.miniproject.core.analytics.PriceAnalytics;
+import com.aletheia.miniproject.core.generator.GeneratorSettings;
+import com.aletheia.miniproject.core.generator.SyntheticDataGenerator;
+import com.aletheia.miniproject.core.readmodel.OfferReadModel;
+import com.aletheia.miniproject.core.recommend.OfferRecommender;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Seeds the database with a synthetic dataset for benchmarks and capacity tests,
+ * then rebuilds the in-memory models from it.
+ */
+@RestController
+public class GeneratorController {
+
+    private final ObjectProvider<SyntheticDataGenerator> generator;
+    private final OfferReadModel readModel;
+    private final OfferRecommender recommender;
+    private final PriceAnalytics priceAnalytics;
+
+    public GeneratorController(
+            ObjectProvider<SyntheticDataGenerator> generator,
+            OfferReadModel readModel,
+            OfferRecommender recommender,
+            PriceAnalytics priceAnalytics
+    ) {
+        this.generator = generator;
+        this.readModel = readModel;
+        this.recommender = recommender;
+        this.priceAnalytics = priceAnalytics;
+    }
+
+    @PostMapping("/api/admin/generate")
+    public SyntheticDataGenerator.Report generate(
+            @RequestParam(defaultValue = "42") long seed,
+            @RequestParam(defaultValue = "1000") int associations,
+            @RequestParam(defaultValue = "20") int membersPerAssociation,
+            @RequestParam(defaultValue = "200") int categories,
+            @RequestParam(defaultValue = "100000") int offers,
+            @RequestParam(defaultValue = "4") int maxCategoriesPerOffer,
+            @RequestParam(defaultValue = "1.0") double categorySkew,
+            @RequestParam(defaultValue = "10") double meanDemandsPerOffer,
+            @RequestParam(defaultValue = "1.5") double queueShape,
+            @RequestParam(defaultValue = "0.3") double closedRatio,
+            @RequestParam(defaultValue = "10000") int chunkSize
+    ) {
+        SyntheticDataGenerator target = generator.getIfAvailable();
+        if (target == null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "The generator requires ressourcerie.storage.engine=jpa");
+        }
+
+        SyntheticDataGenerator.Report report = target.generate(new GeneratorSettings(seed, associations,
+                membersPerAssociation, categories, offers, maxCategoriesPerOffer, categorySkew,
+                meanDemandsPerOffer, queueShape, closedRatio, chunkSize));
+
+        readModel.rebuild();
+        recommender.rebuild();
+        priceAnalytics.rebuild();
+        return report;
+    }
+}
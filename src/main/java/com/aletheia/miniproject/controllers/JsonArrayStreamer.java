@@ -0,0 +1,38 @@
+package com.aletheia.miniproject.controllers;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/**
+ * Writes a JSON array straight to the response, mapping each element on the fly,
+ * so a listing never exists as a DTO list or a fully buffered body.
+ */
+@Component
+public class JsonArrayStreamer {
+
+    private final ObjectMapper mapper;
+
+    public JsonArrayStreamer(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    public <T> void write(HttpServletResponse response, Iterable<? extends T> items, Function<? super T, ?> toDto) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        try (JsonGenerator gen = mapper.createGenerator(response.getOutputStream())) {
+            gen.writeStartArray();
+            for (T item : items) {
+                gen.writePOJO(toDto.apply(item));
+            }
+            gen.writeEndArray();
+        }
+    }
+}
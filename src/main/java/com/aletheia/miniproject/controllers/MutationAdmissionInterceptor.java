@@ -0,0 +1,42 @@
+package com.aletheia.miniproject.controllers;
+
+import com.aletheia.miniproject.core.admission.ConcurrencyLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Takes a ConcurrencyLimiter permit for every mutating API request (anything but GET/HEAD/OPTIONS)
+ * and gives it back once the response is complete.
+ */
+@Component
+public class MutationAdmissionInterceptor implements HandlerInterceptor {
+    private static final String PERMIT_ATTRIBUTE = MutationAdmissionInterceptor.class.getName() + ".permit";
+
+    private final ConcurrencyLimiter limiter;
+
+    public MutationAdmissionInterceptor(ConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+            return true;
+        }
+
+        limiter.acquire();
+        request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            limiter.release();
+        }
+    }
+}
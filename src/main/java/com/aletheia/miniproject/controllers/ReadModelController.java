@@ -0,0 +1,37 @@
+package com.aletheia.miniproject.controllers;
+
+import com.aletheia.miniproject.core.readmodel.OfferReadModel;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+
+/**
+ * Inspects and rebuilds the offer read model.
+ */
+@RestController
+@RequestMapping("/api/admin/read-model")
+public class ReadModelController {
+
+    private final OfferReadModel readModel;
+
+    public ReadModelController(OfferReadModel readModel) {
+        this.readModel = readModel;
+    }
+
+    public record ReadModelStatus(int offers, Instant rebuiltAt, long maxStalenessSeconds) {
+    }
+
+    @GetMapping
+    public ReadModelStatus status() {
+        return new ReadModelStatus(readModel.size(), readModel.getRebuiltAt(), readModel.getMaxStaleness().toSeconds());
+    }
+
+    @PostMapping("/rebuild")
+    public ReadModelStatus rebuild() {
+        readModel.rebuild();
+        return status();
+    }
+}
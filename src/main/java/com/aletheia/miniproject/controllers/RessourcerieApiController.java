@@ -0,0 +1,165 @@
+package com.aletheia.miniproject.controllers;
+
+import com.aletheia.miniproject.controllers.dto.*;
+import com.aletheia.miniproject.controllers.dto.Requests.*;
+import com.aletheia.miniproject.core.entities.Demand;
+import com.aletheia.miniproject.core.facade.IRessourcerieFacade;
+import com.aletheia.miniproject.core.readmodel.OfferReadModel;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * JSON API over IRessourcerieFacade. Entities never leave this class:
+ * every response is a record DTO, and listings are streamed.
+ * Offer listings are served by the OfferReadModel, not the storage engine.
+ */
+@RestController
+@RequestMapping("/api")
+public class RessourcerieApiController {
+
+    private final IRessourcerieFacade facade;
+    private final OfferReadModel readModel;
+    private final JsonArrayStreamer streamer;
+
+    public RessourcerieApiController(IRessourcerieFacade facade, OfferReadModel readModel, JsonArrayStreamer streamer) {
+        this.facade = facade;
+        this.readModel = readModel;
+        this.streamer = streamer;
+    }
+
+    @PostMapping("/associations")
+    @ResponseStatus(HttpStatus.CREATED)
+    public AssociationDto createAssociation(@RequestBody NameRequest request) {
+        return AssociationDto.from(facade.createAssociation(request.name()));
+    }
+
+    /**
+     * Also serves createMember: a member always joins an existing association.
+     */
+    @PostMapping("/members")
+    @ResponseStatus(HttpStatus.CREATED)
+    public MemberDto addMember(@RequestBody CreateMemberRequest request) {
+        if (request.associationId() == null) {
+            throw new IllegalArgumentException("associationId is required");
+        }
+        return MemberDto.from(facade.addMember(request.associationId(), request.name()));
+    }
+
+    @PostMapping("/categories")
+    @ResponseStatus(HttpStatus.CREATED)
+    public CategoryDto createCategory(@RequestBody NameRequest request) {
+        return CategoryDto.from(facade.createCategory(request.name()));
+    }
+
+    @PostMapping("/offers")
+    @ResponseStatus(HttpStatus.CREATED)
+    public OfferDto createOffer(@RequestBody CreateOfferRequest request) {
+        if (request.contactId() == null) {
+            throw new IllegalArgumentException("contactId is required");
+        }
+        return OfferDto.from(facade.createOffer(
+                request.contactId(),
+                request.name(),
+                request.description(),
+                request.price(),
+                request.categoryIds()
+        ));
+    }
+
+    @GetMapping("/offers")
+    public void listOffers(@RequestParam(required = false) Long categoryId, HttpServletResponse response) throws IOException {
+        streamer.write(response,
+                categoryId == null ? readModel.listOffers() : readModel.listOffersByCategory(categoryId),
+                OfferDto::from);
+    }
+
+    @GetMapping("/offers/by-price")
+    public void listOffersByPrice(
+            @RequestParam(required = false) BigDecimal min,
+            @RequestParam(required = false) BigDecimal max,
+            @RequestParam(required = false) Long categoryId,
+            HttpServletResponse response
+    ) throws IOException {
+        streamer.write(response, readModel.listOffersByPriceRange(min, max, categoryId), OfferDto::from);
+    }
+
+    @GetMapping("/members/{memberId}/recommendations")
+    public void recommendOffers(
+            @PathVariable Long memberId,
+            @RequestParam(defaultValue = "10") int limit,
+            HttpServletResponse response
+    ) throws IOException {
+        streamer.write(response, facade.recommendOffers(memberId, limit), OfferDto::from);
+    }
+
+    @PostMapping("/offers/{offerId}/demands")
+    @ResponseStatus(HttpStatus.CREATED)
+    public DemandDto createDemand(@PathVariable Long offerId, @RequestBody CreateDemandRequest request) {
+        return DemandDto.from(facade.createDemand(offerId, request.memberId()));
+    }
+
+    @PostMapping("/demands/{demandId}/cancel")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void cancelDemand(@PathVariable Long demandId) {
+        facade.cancelDemand(demandId);
+    }
+
+    /**
+     * @return one outcome per distinct demand id; failed items do not fail the request
+     */
+    @PostMapping("/demands/cancel")
+    public List<BatchOutcomeDto<Void>> cancelDemands(@RequestBody CancelDemandsRequest request) {
+        return facade.cancelDemands(request.demandIds()).stream()
+                .map(o -> BatchOutcomeDto.from(o, Function.<Void>identity()))
+                .toList();
+    }
+
+    @GetMapping("/demands/{demandId}/rank")
+    public Map<String, Long> getDemandRank(@PathVariable Long demandId) {
+        Long rank = facade.getDemandRank(demandId);
+        return Map.of("rank", rank == null ? -1L : rank);
+    }
+
+    /**
+     * @return the winning demand, or 204 when the offer had no PENDING demand
+     */
+    @PostMapping("/offers/{offerId}/validate")
+    public ResponseEntity<DemandDto> validateOffer(@PathVariable Long offerId, @RequestBody ValidateOfferRequest request) {
+        Demand approved = facade.validateOffer(request.contactId(), offerId);
+        return approved == null ? ResponseEntity.noContent().build() : ResponseEntity.ok(DemandDto.from(approved));
+    }
+
+    /**
+     * @return one outcome per distinct offer id, with the winning demand (or null) as result
+     */
+    @PostMapping("/offers/validate")
+    public List<BatchOutcomeDto<DemandDto>> validateOffers(@RequestBody ValidateOffersRequest request) {
+        return facade.validateOffers(request.contactId(), request.offerIds()).stream()
+                .map(o -> BatchOutcomeDto.from(o, DemandDto::from))
+                .toList();
+    }
+
+    @PostMapping("/offers/{offerId}/archive")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void archiveOffer(@PathVariable Long offerId) {
+        facade.archiveOffer(offerId);
+    }
+
+    @GetMapping("/stats/offers")
+    public Map<Integer, Integer> getOfferCountByAssociation() {
+        return facade.getOfferCountByAssociation();
+    }
+
+    @GetMapping("/stats/wins")
+    public Map<Integer, Integer> getOfferWinsByAssociation() {
+        return facade.getOfferWinsByAssociation();
+    }
+}
@@ -0,0 +1,13 @@
+package com.aletheia.miniproject.controllers.dto;
+
+import com.aletheia.miniproject.core.entities.Association;
+
+public record AssociationDto(Long id, String name, Long representerId) {
+    public static AssociationDto from(Association association) {
+        return new AssociationDto(
+                association.getId(),
+                association.getName(),
+                association.getRepresenter() == null ? null : association.getRepresenter().getId()
+        );
+    }
+}
@@ -0,0 +1,16 @@
+package com.aletheia.miniproject.controllers.dto;
+
+import com.aletheia.miniproject.core.facade.BatchOutcome;
+
+import java.util.function.Function;
+
+public record BatchOutcomeDto<T>(Long id, boolean succeeded, T result, String error) {
+    public static <E, T> BatchOutcomeDto<T> from(BatchOutcome<E> outcome, Function<E, T> result) {
+        return new BatchOutcomeDto<>(
+                outcome.id(),
+                outcome.isSucceeded(),
+                outcome.result() == null ? null : result.apply(outcome.result()),
+                outcome.error()
+        );
+    }
+}
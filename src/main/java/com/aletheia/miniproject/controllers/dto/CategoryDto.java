@@ -0,0 +1,9 @@
+package com.aletheia.miniproject.controllers.dto;
+
+import com.aletheia.miniproject.core.entities.Category;
+
+public record CategoryDto(Long id, String name) {
+    public static CategoryDto from(Category category) {
+        return new CategoryDto(category.getId(), category.getName());
+    }
+}
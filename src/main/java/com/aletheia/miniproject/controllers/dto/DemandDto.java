@@ -0,0 +1,18 @@
+package com.aletheia.miniproject.controllers.dto;
+
+import com.aletheia.miniproject.core.entities.Demand;
+import com.aletheia.miniproject.core.entities.DemandStatus;
+
+import java.time.LocalDateTime;
+
+public record DemandDto(Long id, Long offerId, Long demanderId, LocalDateTime createdAt, DemandStatus status) {
+    public static DemandDto from(Demand demand) {
+        return new DemandDto(
+                demand.getId(),
+                demand.getOffer() == null ? null : demand.getOffer().getId(),
+                demand.getDemander() == null ? null : demand.getDemander().getId(),
+                demand.getCreatedAt(),
+                demand.getStatus()
+        );
+    }
+}
@@ -0,0 +1,13 @@
+package com.aletheia.miniproject.controllers.dto;
+
+import com.aletheia.miniproject.core.entities.Member;
+
+public record MemberDto(Long id, String name, Long associationId) {
+    public static MemberDto from(Member member) {
+        return new MemberDto(
+                member.getId(),
+                member.getName(),
+                member.getAssociation() == null ? null : member.getAssociation().getId()
+        );
+    }
+}
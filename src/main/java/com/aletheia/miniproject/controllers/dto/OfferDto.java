@@ -0,0 +1,56 @@
+package com.aletheia.miniproject.controllers.dto;
+
+import com.aletheia.miniproject.core.entities.Offer;
+import com.aletheia.miniproject.core.entities.OfferStatus;
+import com.aletheia.miniproject.core.readmodel.OfferView;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Flat view of an Offer. Category ids are read from the join keys,
+ * so the Category rows themselves are never loaded.
+ */
+public record OfferDto(
+        Long id,
+        Long associationId,
+        String name,
+        String description,
+        BigDecimal price,
+        OfferStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime closedAt,
+        List<Long> categoryIds
+) {
+    public static OfferDto from(Offer offer) {
+        return new OfferDto(
+                offer.getId(),
+                offer.getAssociation() == null ? null : offer.getAssociation().getId(),
+                offer.getName(),
+                offer.getDescription(),
+                offer.getPrice(),
+                offer.getStatus(),
+                offer.getCreatedAt(),
+                offer.getClosedAt(),
+                offer.getCategoryLinks().stream()
+                        .map(oc -> oc.getId().getCategoryId())
+                        .sorted()
+                        .toList()
+        );
+    }
+
+    public static OfferDto from(OfferView offer) {
+        return new OfferDto(
+                offer.id(),
+                offer.associationId(),
+                offer.name(),
+                offer.description(),
+                offer.price(),
+                offer.status(),
+                offer.createdAt(),
+                offer.closedAt(),
+                offer.categoryIds()
+        );
+    }
+}
@@ -0,0 +1,33 @@
+package com.aletheia.miniproject.controllers.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Request bodies of the REST API.
+ */
+public final class Requests {
+    private Requests() {
+    }
+
+    public record NameRequest(String name) {
+    }
+
+    public record CreateMemberRequest(Long associationId, String name) {
+    }
+
+    public record CreateOfferRequest(Long contactId, String name, String description, BigDecimal price, List<Long> categoryIds) {
+    }
+
+    public record CreateDemandRequest(Long memberId) {
+    }
+
+    public record ValidateOfferRequest(Long contactId) {
+    }
+
+    public record ValidateOffersRequest(Long contactId, List<Long> offerIds) {
+    }
+
+    public record CancelDemandsRequest(List<Long> demandIds) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.aletheia.miniproject.core.admission;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caps the number of mutating calls in flight. Callers that do not get a permit
+ * are rejected immediately instead of queuing behind the single SQLite writer.
+ */
+@Component
+public class ConcurrencyLimiter {
+    private final Semaphore permits;
+    private final long retryAfterSeconds;
+
+    public ConcurrencyLimiter(
+            @Value("${ressourcerie.admission.max-concurrent-mutations:16}") int maxConcurrent,
+            @Value("${ressourcerie.admission.retry-after-seconds:1}") long retryAfterSeconds
+    ) {
+        if (maxConcurrent <= 0) throw new IllegalArgumentException("max-concurrent-mutations must be > 0");
+        this.permits = new Semaphore(maxConcurrent);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public void acquire() {
+        if (!permits.tryAcquire()) {
+            throw new TooManyRequestsException("Server busy, too many concurrent updates", retryAfterSeconds);
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,96 @@
+package com.aletheia.miniproject.core.admission;
+
+import com.aletheia.miniproject.sharding.ShardRoutingDataSource;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounds the number of JDBC connections the ShardRoutingDataSource opens at once with a
+ * semaphore taken in getConnection and given back by Connection.close. With virtual threads
+ * serving requests, callers beyond the bound park on the semaphore instead of piling up
+ * inside the SQLite driver, whose native calls pin their carrier thread.
+ * Only that DataSource is wrapped: it opens an unpooled connection per call, whereas the
+ * default Hikari pool already bounds its connections (spring.datasource.hikari.maximum-pool-size).
+ * The proxy keeps the class, so injection by concrete type still works.
+ * ressourcerie.jdbc.max-connections=0 disables it.
+ */
+@Component
+public class ConnectionPermits implements BeanPostProcessor {
+    private final Semaphore permits;
+    private final long timeoutMs;
+
+    public ConnectionPermits(
+            @Value("${ressourcerie.jdbc.max-connections:10}") int maxConnections,
+            @Value("${ressourcerie.jdbc.permit-timeout-ms:30000}") long timeoutMs
+    ) {
+        if (maxConnections < 0) throw new IllegalArgumentException("ressourcerie.jdbc.max-connections must be >= 0");
+        if (timeoutMs <= 0) throw new IllegalArgumentException("ressourcerie.jdbc.permit-timeout-ms must be > 0");
+        this.permits = maxConnections == 0 ? null : new Semaphore(maxConnections, true);
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (permits == null || !(bean instanceof ShardRoutingDataSource)) return bean;
+
+        ProxyFactory proxy = new ProxyFactory(bean);
+        proxy.setProxyTargetClass(true);
+        proxy.addAdvice((MethodInterceptor) this::getConnection);
+        return proxy.getProxy();
+    }
+
+    public int availablePermits() {
+        return permits == null ? Integer.MAX_VALUE : permits.availablePermits();
+    }
+
+    private Object getConnection(MethodInvocation invocation) throws Throwable {
+        if (!invocation.getMethod().getName().equals("getConnection")) {
+            return invocation.proceed();
+        }
+
+        acquire();
+        Connection connection;
+        try {
+            connection = (Connection) invocation.proceed();
+        } catch (Throwable t) {
+            permits.release();
+            throw t;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        ProxyFactory proxy = new ProxyFactory(connection);
+        proxy.addAdvice((MethodInterceptor) call -> {
+            if (!call.getMethod().getName().equals("close")) {
+                return call.proceed();
+            }
+            try {
+                return call.proceed();
+            } finally {
+                if (released.compareAndSet(false, true)) permits.release();
+            }
+        });
+        return proxy.getProxy();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("No JDBC connection permit available within " + timeoutMs + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a JDBC connection permit", e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.aletheia.miniproject.core.admission;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Per-key token buckets for the demand endpoints: one bucket per member and one per offer
+ * for createDemand, one per demander for getDemandRank (so that holding many demands does
+ * not multiply a member's lookup budget).
+ * Full buckets are forgotten by a periodic sweep, off the request path.
+ */
+@Component
+public class RateLimiter {
+    private final ConcurrentMap<Long, TokenBucket> memberBuckets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, TokenBucket> offerBuckets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, TokenBucket> rankBuckets = new ConcurrentHashMap<>();
+
+    private final Function<Long, TokenBucket> memberBucket;
+    private final Function<Long, TokenBucket> offerBucket;
+    private final Function<Long, TokenBucket> rankBucket;
+    private final ScheduledExecutorService sweeper;
+
+    public RateLimiter(
+            @Value("${ressourcerie.ratelimit.member.burst:10}") int memberBurst,
+            @Value("${ressourcerie.ratelimit.member.per-minute:30}") int memberPerMinute,
+            @Value("${ressourcerie.ratelimit.offer.burst:50}") int offerBurst,
+            @Value("${ressourcerie.ratelimit.offer.per-minute:300}") int offerPerMinute,
+            @Value("${ressourcerie.ratelimit.rank.burst:5}") int rankBurst,
+            @Value("${ressourcerie.ratelimit.rank.per-minute:30}") int rankPerMinute,
+            @Value("${ressourcerie.ratelimit.sweep-interval-seconds:60}") long sweepIntervalSeconds
+    ) {
+        this.memberBucket = k -> new TokenBucket(memberBurst, memberPerMinute);
+        this.offerBucket = k -> new TokenBucket(offerBurst, offerPerMinute);
+        this.rankBucket = k -> new TokenBucket(rankBurst, rankPerMinute);
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofVirtual().name("ressourcerie-rate-limiter").factory());
+        if (sweepIntervalSeconds > 0) {
+            sweeper.scheduleWithFixedDelay(() -> evictIdle(System.nanoTime()),
+                    sweepIntervalSeconds, sweepIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        sweeper.shutdownNow();
+    }
+
+    public void acquireDemand(Long memberId, Long offerId) {
+        long now = System.nanoTime();
+        acquire(memberBuckets, memberBucket, memberId, now, "Too many demands from member " + memberId);
+        acquire(offerBuckets, offerBucket, offerId, now, "Too many demands on offer " + offerId);
+    }
+
+    public void acquireRankLookup(Long demanderId) {
+        acquire(rankBuckets, rankBucket, demanderId, System.nanoTime(), "Too many rank lookups from member " + demanderId);
+    }
+
+    /**
+     * Forgets the buckets that are full again: a new bucket for the key would behave the same.
+     */
+    void evictIdle(long nowNanos) {
+        for (ConcurrentMap<Long, TokenBucket> buckets : List.of(memberBuckets, offerBuckets, rankBuckets)) {
+            buckets.values().removeIf(b -> b.isIdle(nowNanos));
+        }
+    }
+
+    int trackedKeys() {
+        return memberBuckets.size() + offerBuckets.size() + rankBuckets.size();
+    }
+
+    private static void acquire(ConcurrentMap<Long, TokenBucket> buckets, Function<Long, TokenBucket> factory,
+                                Long key, long now, String message) {
+        long waitNanos = buckets.computeIfAbsent(key, factory).tryAcquire(now);
+        if (waitNanos > 0) {
+            throw new TooManyRequestsException(message, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.aletheia.miniproject.core.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, implemented as a generic cell rate algorithm:
+ * the whole state is one "theoretical arrival time" updated by CAS.
+ */
+public class TokenBucket {
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @param capacity       number of requests allowed in a burst
+     * @param refillPerMinute sustained number of requests per minute
+     */
+    public TokenBucket(int capacity, int refillPerMinute) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be > 0");
+        if (refillPerMinute <= 0) throw new IllegalArgumentException("refillPerMinute must be > 0");
+        this.intervalNanos = 60_000_000_000L / refillPerMinute;
+        this.burstNanos = intervalNanos * capacity;
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return 0 if the token was granted, otherwise the nanoseconds to wait before one is available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long start = current == Long.MIN_VALUE || current - nowNanos < 0 ? nowNanos : current;
+            long next = start + intervalNanos;
+            long ahead = next - nowNanos;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @return true if the bucket is full again, i.e. forgetting it changes nothing
+     */
+    public boolean isIdle(long nowNanos) {
+        long current = theoreticalArrival.get();
+        return current == Long.MIN_VALUE || current - nowNanos <= 0;
+    }
+}
@@ -0,0 +1,17 @@
+package com.aletheia.miniproject.core.admission;
+
+/**
+ * Thrown when a call is shed by a rate or concurrency limit.
+ */
+public class TooManyRequestsException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
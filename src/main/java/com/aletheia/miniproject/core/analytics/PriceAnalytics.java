@@ -0,0 +1,281 @@
+package com.aletheia.miniproject.core.analytics;
+
+import com.aletheia.miniproject.core.entities.OfferStatus;
+import com.aletheia.miniproject.core.entities.PriceCentsConverter;
+import com.aletheia.miniproject.core.readmodel.OfferReadModel;
+import com.aletheia.miniproject.core.readmodel.OfferReadModelRebuilt;
+import com.aletheia.miniproject.core.readmodel.OfferView;
+import com.aletheia.miniproject.core.readmodel.OfferViewChanged;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asking price quantiles per category and per association, one QuantileSketch each.
+ * Offers are added when created: the only OfferViewChanged with status OPEN. The sketches
+ * are saved to a file periodically and on shutdown, and reloaded at startup together with
+ * a fingerprint of the offers they cover (an order-independent hash of id, association,
+ * price and categories); they are recomputed from the OfferReadModel when it does not match.
+ */
+@Component
+public class PriceAnalytics {
+    private static final Logger log = LoggerFactory.getLogger(PriceAnalytics.class);
+    private static final int FILE_MAGIC = 0x50524932; // "PRI2"
+
+    private final OfferReadModel readModel;
+    private final Path file;
+    private final double compression;
+    private final ScheduledExecutorService saver;
+
+    // Guarded by this
+    private Map<Long, QuantileSketch> byCategory = new HashMap<>();
+    private Map<Long, QuantileSketch> byAssociation = new HashMap<>();
+    private int offerCount;
+    private long fingerprint;
+    private boolean checked;
+    private boolean dirty;
+    // Offers created while a rebuild is loading, replayed on the rebuilt sketches
+    private List<OfferView> addedDuringRebuild;
+
+    public PriceAnalytics(
+            OfferReadModel readModel,
+            @Value("${ressourcerie.analytics.file:data/analytics/price-sketches.bin}") String file,
+            @Value("${ressourcerie.analytics.compression:100}") double compression,
+            @Value("${ressourcerie.analytics.save-interval-seconds:60}") long saveIntervalSeconds
+    ) {
+        this.readModel = readModel;
+        this.file = Path.of(file);
+        this.compression = compression;
+        load();
+
+        this.saver = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofVirtual().name("ressourcerie-price-analytics").factory());
+        if (saveIntervalSeconds > 0) {
+            saver.scheduleWithFixedDelay(this::saveQuietly, saveIntervalSeconds, saveIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    public record PriceQuantiles(long count, BigDecimal min, BigDecimal max, Map<Double, BigDecimal> quantiles) {
+    }
+
+    @EventListener
+    public synchronized void offerChanged(OfferViewChanged event) {
+        OfferView offer = event.offer();
+        if (offer.status() == OfferStatus.OPEN) {
+            add(offer);
+            if (addedDuringRebuild != null) addedDuringRebuild.add(offer);
+            dirty = true;
+        }
+    }
+
+    /**
+     * On the first read model rebuild, keeps the loaded sketches when they cover
+     * the same offers as the read model, otherwise recomputes them from it.
+     */
+    @EventListener
+    public void readModelRebuilt(OfferReadModelRebuilt event) {
+        synchronized (this) {
+            if (checked) return;
+            checked = true;
+        }
+
+        List<OfferView> offers = readModel.listOffers();
+        synchronized (this) {
+            if (offerCount == offers.size() && fingerprint == fingerprint(offers)) return;
+        }
+        rebuild();
+    }
+
+    /**
+     * @return the number of offers read
+     */
+    public int rebuild() {
+        synchronized (this) {
+            addedDuringRebuild = new ArrayList<>();
+        }
+
+        List<OfferView> offers;
+        try {
+            offers = readModel.listOffers();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                addedDuringRebuild = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            byCategory = new HashMap<>();
+            byAssociation = new HashMap<>();
+            offerCount = 0;
+            fingerprint = 0;
+            Set<Long> read = new HashSet<>();
+            for (OfferView offer : offers) {
+                add(offer);
+                read.add(offer.id());
+            }
+            for (OfferView offer : addedDuringRebuild) {
+                if (!read.contains(offer.id())) add(offer);
+            }
+            addedDuringRebuild = null;
+            dirty = true;
+        }
+        return offers.size();
+    }
+
+    /**
+     * Quantiles of the prices of offers in any of the categories (sketches merged;
+     * an offer in several of them counts once per category) or of one association.
+     * Cost depends on the number of sketches merged, not on the number of offers.
+     */
+    public PriceQuantiles quantiles(Collection<Long> categoryIds, Long associationId, double[] qs) {
+        boolean byCategories = categoryIds != null && !categoryIds.isEmpty();
+        if (byCategories == (associationId != null)) {
+            throw new IllegalArgumentException("Give either categoryIds or associationId");
+        }
+        if (qs == null || qs.length == 0) throw new IllegalArgumentException("At least one quantile is required");
+        for (double q : qs) {
+            if (q < 0 || q > 1) throw new IllegalArgumentException("Quantiles must be in [0, 1]: " + q);
+        }
+
+        QuantileSketch merged = new QuantileSketch(compression);
+        synchronized (this) {
+            if (byCategories) {
+                for (Long categoryId : new LinkedHashSet<>(categoryIds)) {
+                    QuantileSketch sketch = byCategory.get(categoryId);
+                    if (sketch != null) merged.merge(sketch);
+                }
+            } else {
+                QuantileSketch sketch = byAssociation.get(associationId);
+                if (sketch != null) merged.merge(sketch);
+            }
+        }
+
+        Map<Double, BigDecimal> quantiles = new LinkedHashMap<>();
+        for (double q : qs) {
+            quantiles.put(q, price(merged.quantile(q)));
+        }
+        return new PriceQuantiles(merged.count(), price(merged.min()), price(merged.max()), quantiles);
+    }
+
+    /**
+     * Writes the sketches to a temporary file, then moves it over the previous one.
+     */
+    public void save() throws IOException {
+        synchronized (this) {
+            if (!dirty) return;
+
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = parent.resolve(file.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(offerCount);
+                out.writeLong(fingerprint);
+                writeSketches(out, byCategory);
+                writeSketches(out, byAssociation);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        saver.shutdownNow();
+        save();
+    }
+
+    // Caller holds the lock
+    private void add(OfferView offer) {
+        double price = offer.price().doubleValue();
+        for (Long categoryId : offer.categoryIds()) {
+            byCategory.computeIfAbsent(categoryId, k -> new QuantileSketch(compression)).add(price);
+        }
+        byAssociation.computeIfAbsent(offer.associationId(), k -> new QuantileSketch(compression)).add(price);
+        offerCount++;
+        fingerprint += hash(offer);
+    }
+
+    private static long fingerprint(List<OfferView> offers) {
+        long sum = 0;
+        for (OfferView offer : offers) sum += hash(offer);
+        return sum;
+    }
+
+    /**
+     * 64-bit hash of the fields a sketch depends on, finished with the SplitMix64 mixer
+     * so that the sum over all offers does not cancel out.
+     */
+    private static long hash(OfferView offer) {
+        long h = offer.id();
+        h = 31 * h + offer.associationId();
+        h = 31 * h + PriceCentsConverter.toCents(offer.price());
+        for (Long categoryId : offer.categoryIds()) h = 31 * h + categoryId;
+
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+
+    private void load() {
+        if (!Files.exists(file)) return;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC) throw new IOException("Not a price sketch file: " + file);
+            offerCount = in.readInt();
+            fingerprint = in.readLong();
+            byCategory = readSketches(in);
+            byAssociation = readSketches(in);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable price sketches, they will be rebuilt", e);
+            byCategory = new HashMap<>();
+            byAssociation = new HashMap<>();
+            offerCount = 0;
+            fingerprint = 0;
+        }
+    }
+
+    private static void writeSketches(DataOutputStream out, Map<Long, QuantileSketch> sketches) throws IOException {
+        out.writeInt(sketches.size());
+        for (Map.Entry<Long, QuantileSketch> e : sketches.entrySet()) {
+            out.writeLong(e.getKey());
+            e.getValue().writeTo(out);
+        }
+    }
+
+    private static Map<Long, QuantileSketch> readSketches(DataInputStream in) throws IOException {
+        int n = in.readInt();
+        Map<Long, QuantileSketch> sketches = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            sketches.put(in.readLong(), QuantileSketch.readFrom(in));
+        }
+        return sketches;
+    }
+
+    private void saveQuietly() {
+        try {
+            save();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Saving price sketches failed", e);
+        }
+    }
+
+    private static BigDecimal price(double value) {
+        return Double.isNaN(value) ? null : BigDecimal.valueOf(value).setScale(PriceCentsConverter.SCALE, RoundingMode.HALF_UP);
+    }
+}
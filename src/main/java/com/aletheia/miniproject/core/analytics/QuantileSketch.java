@@ -0,0 +1,211 @@
+package com.aletheia.miniproject.core.analytics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Merging t-digest: a bounded list of weighted centroids, small at both tails,
+ * giving approximate quantiles with the best accuracy near 0 and 1.
+ * Its size depends on the compression only, so a quantile query costs the same
+ * whatever the number of values added. Sketches merge without losing accuracy.
+ * Not thread-safe.
+ */
+public final class QuantileSketch {
+    private final double compression;
+
+    private double[] means = new double[0];
+    private double[] weights = new double[0];
+
+    private final double[] buffer;
+    private int buffered;
+
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public QuantileSketch(double compression) {
+        if (compression < 10) throw new IllegalArgumentException("compression must be >= 10");
+        this.compression = compression;
+        this.buffer = new double[(int) (5 * compression)];
+    }
+
+    public void add(double value) {
+        if (Double.isNaN(value)) throw new IllegalArgumentException("value is NaN");
+
+        buffer[buffered++] = value;
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        if (buffered == buffer.length) compress();
+    }
+
+    /**
+     * Adds every value of another sketch to this one.
+     */
+    public void merge(QuantileSketch other) {
+        other.compress();
+        if (other.count == 0) return;
+
+        compress();
+        double[] allMeans = Arrays.copyOf(means, means.length + other.means.length);
+        double[] allWeights = Arrays.copyOf(weights, weights.length + other.weights.length);
+        System.arraycopy(other.means, 0, allMeans, means.length, other.means.length);
+        System.arraycopy(other.weights, 0, allWeights, weights.length, other.weights.length);
+
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        mergeCentroids(allMeans, allWeights);
+    }
+
+    public QuantileSketch copy() {
+        compress();
+        QuantileSketch copy = new QuantileSketch(compression);
+        copy.means = means.clone();
+        copy.weights = weights.clone();
+        copy.count = count;
+        copy.min = min;
+        copy.max = max;
+        return copy;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double min() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    public double max() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    /**
+     * @param q quantile in [0, 1], e.g. 0.5 for the median
+     * @return the estimated value, or NaN when the sketch is empty
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) throw new IllegalArgumentException("q must be in [0, 1]: " + q);
+
+        compress();
+        if (count == 0) return Double.NaN;
+        if (means.length == 1) return means[0];
+
+        int n = means.length;
+        double index = q * count;
+
+        // Centroid i covers the weights around its center; interpolate between centers
+        if (index < weights[0] / 2) {
+            return min + (means[0] - min) * index / (weights[0] / 2);
+        }
+        double center = weights[0] / 2;
+        for (int i = 0; i < n - 1; i++) {
+            double gap = (weights[i] + weights[i + 1]) / 2;
+            if (center + gap > index) {
+                return means[i] + (means[i + 1] - means[i]) * (index - center) / gap;
+            }
+            center += gap;
+        }
+        double tail = weights[n - 1] / 2;
+        return Math.min(max, means[n - 1] + (max - means[n - 1]) * (index - center) / tail);
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        compress();
+        out.writeDouble(compression);
+        out.writeLong(count);
+        out.writeDouble(min);
+        out.writeDouble(max);
+        out.writeInt(means.length);
+        for (int i = 0; i < means.length; i++) {
+            out.writeDouble(means[i]);
+            out.writeDouble(weights[i]);
+        }
+    }
+
+    public static QuantileSketch readFrom(DataInput in) throws IOException {
+        QuantileSketch sketch = new QuantileSketch(in.readDouble());
+        sketch.count = in.readLong();
+        sketch.min = in.readDouble();
+        sketch.max = in.readDouble();
+        int n = in.readInt();
+        sketch.means = new double[n];
+        sketch.weights = new double[n];
+        for (int i = 0; i < n; i++) {
+            sketch.means[i] = in.readDouble();
+            sketch.weights[i] = in.readDouble();
+        }
+        return sketch;
+    }
+
+    private void compress() {
+        if (buffered == 0) return;
+
+        double[] allMeans = Arrays.copyOf(means, means.length + buffered);
+        double[] allWeights = Arrays.copyOf(weights, weights.length + buffered);
+        System.arraycopy(buffer, 0, allMeans, means.length, buffered);
+        Arrays.fill(allWeights, weights.length, allWeights.length, 1);
+        buffered = 0;
+        mergeCentroids(allMeans, allWeights);
+    }
+
+    /**
+     * Sorts the points by mean and merges neighbours while the merged centroid stays
+     * within one unit of the k1 scale function k(q) = compression / 2pi * asin(2q - 1).
+     */
+    private void mergeCentroids(double[] pointMeans, double[] pointWeights) {
+        int n = pointMeans.length;
+        double[] sortedMeans = new double[n];
+        double[] sortedWeights = new double[n];
+        Integer[] byMean = new Integer[n];
+        for (int i = 0; i < n; i++) byMean[i] = i;
+        Arrays.sort(byMean, (a, b) -> Double.compare(pointMeans[a], pointMeans[b]));
+        for (int i = 0; i < n; i++) {
+            sortedMeans[i] = pointMeans[byMean[i]];
+            sortedWeights[i] = pointWeights[byMean[i]];
+        }
+
+        double total = 0;
+        for (double w : sortedWeights) total += w;
+
+        double[] mergedMeans = new double[n];
+        double[] mergedWeights = new double[n];
+        int merged = 0;
+
+        double currentMean = sortedMeans[0];
+        double currentWeight = sortedWeights[0];
+        double weightBefore = 0;
+        double limit = total * inverseScale(scale(0) + 1);
+
+        for (int i = 1; i < n; i++) {
+            if (weightBefore + currentWeight + sortedWeights[i] <= limit) {
+                currentWeight += sortedWeights[i];
+                currentMean += (sortedMeans[i] - currentMean) * sortedWeights[i] / currentWeight;
+            } else {
+                mergedMeans[merged] = currentMean;
+                mergedWeights[merged++] = currentWeight;
+                weightBefore += currentWeight;
+                limit = total * inverseScale(scale(weightBefore / total) + 1);
+                currentMean = sortedMeans[i];
+                currentWeight = sortedWeights[i];
+            }
+        }
+        mergedMeans[merged] = currentMean;
+        mergedWeights[merged++] = currentWeight;
+
+        means = Arrays.copyOf(mergedMeans, merged);
+        weights = Arrays.copyOf(mergedWeights, merged);
+    }
+
+    private double scale(double q) {
+        return compression / (2 * Math.PI) * Math.asin(2 * q - 1);
+    }
+
+    private double inverseScale(double k) {
+        double angle = k * 2 * Math.PI / compression;
+        return angle >= Math.PI / 2 ? 1 : (Math.sin(angle) + 1) / 2;
+    }
+}
@@ -0,0 +1,18 @@
+package com.aletheia.miniproject.core.audit;
+
+import java.time.Instant;
+
+/**
+ * One status change read back from the TransitionJournal.
+ *
+ * @param id       offer id for OFFER transitions, demand id for DEMAND transitions
+ * @param memberId the demander for DEMAND transitions, the acting contact (or 0) for OFFER transitions
+ * @param from     previous status name, null when the offer or demand was created
+ */
+public record Transition(Instant at, Kind kind, long id, long offerId, long memberId, String from, String to) {
+
+    public enum Kind {
+        OFFER,
+        DEMAND
+    }
+}
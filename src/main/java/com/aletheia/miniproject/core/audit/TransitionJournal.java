@@ -0,0 +1,227 @@
+package com.aletheia.miniproject.core.audit;
+
+import com.aletheia.miniproject.core.audit.Transition.Kind;
+import com.aletheia.miniproject.core.entities.DemandStatus;
+import com.aletheia.miniproject.core.entities.OfferStatus;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Append-only audit trail of offer and demand status changes, written to
+ * memory-mapped segment files of fixed-size records. An append is a few stores into
+ * the mapping under a lock: nothing is flushed per record, the OS writes the pages back
+ * (a process crash loses nothing, an OS crash may lose the last pages), and each
+ * segment is forced to disk when it is full and on shutdown.
+ * <p>
+ * Record layout (40 bytes): epoch millis, offer or demand id, offer id, member id,
+ * kind, from status, to status (ordinal + 1, 0 = none), padding. The kind byte is written
+ * last and a zero kind marks the end of the segment.
+ * <p>
+ * The trail follows the database it describes: when the JPA engine recreates the schema
+ * (ddl-auto create or create-drop), ids start over and the existing segments are deleted.
+ */
+@Component
+public class TransitionJournal {
+    static final int RECORD_SIZE = 40;
+    private static final String PREFIX = "transitions-";
+    private static final String SUFFIX = ".seg";
+
+    private static final int KIND = 32;
+    private static final int FROM = 33;
+    private static final int TO = 34;
+
+    private static final OfferStatus[] OFFER_STATUSES = OfferStatus.values();
+    private static final DemandStatus[] DEMAND_STATUSES = DemandStatus.values();
+
+    private final Path directory;
+    private final int segmentSize;
+
+    // Guarded by this
+    private final List<Path> segments = new ArrayList<>();
+    private int currentNumber;
+    private FileChannel channel;
+    private MappedByteBuffer current;
+    private int position;
+
+    public TransitionJournal(
+            @Value("${ressourcerie.audit.directory:data/audit}") String directory,
+            @Value("${ressourcerie.audit.segment-records:1048576}") int segmentRecords,
+            @Value("#{'${ressourcerie.storage.engine:jpa}' == 'jpa' and '${spring.jpa.hibernate.ddl-auto:none}'.startsWith('create')}")
+            boolean schemaRecreated
+    ) throws IOException {
+        if (segmentRecords <= 0) throw new IllegalArgumentException("ressourcerie.audit.segment-records must be > 0");
+        if ((long) segmentRecords * RECORD_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("ressourcerie.audit.segment-records is too large");
+        }
+        this.directory = Path.of(directory);
+        this.segmentSize = segmentRecords * RECORD_SIZE;
+        Files.createDirectories(this.directory);
+
+        try (Stream<Path> files = Files.list(this.directory)) {
+            files.filter(p -> p.getFileName().toString().startsWith(PREFIX) && p.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .forEach(segments::add);
+        }
+        if (schemaRecreated) {
+            for (Path segment : segments) Files.delete(segment);
+            segments.clear();
+        }
+
+        if (segments.isEmpty()) {
+            openSegment(1);
+        } else {
+            String last = segments.removeLast().getFileName().toString();
+            openSegment(Integer.parseInt(last.substring(PREFIX.length(), last.length() - SUFFIX.length())));
+            position = endOf(current, current.capacity() / RECORD_SIZE) * RECORD_SIZE;
+        }
+    }
+
+    public void offerChanged(long offerId, long memberId, OfferStatus from, OfferStatus to) {
+        append(Kind.OFFER, offerId, offerId, memberId, from, to);
+    }
+
+    public void demandChanged(long demandId, long offerId, long memberId, DemandStatus from, DemandStatus to) {
+        append(Kind.DEMAND, demandId, offerId, memberId, from, to);
+    }
+
+    /**
+     * @return every transition of the offer and of its demands, oldest first
+     */
+    public List<Transition> ofOffer(long offerId) {
+        return scan(buffer -> buffer.getLong(16) == offerId);
+    }
+
+    /**
+     * @return every transition of the member's demands and of the offers the member acted on, oldest first
+     */
+    public List<Transition> ofMember(long memberId) {
+        return scan(buffer -> buffer.getLong(24) == memberId);
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        current.force();
+        channel.close();
+    }
+
+    private synchronized void append(Kind kind, long id, long offerId, long memberId, Enum<?> from, Enum<?> to) {
+        if (position + RECORD_SIZE > current.capacity()) rotate();
+
+        current.putLong(position, System.currentTimeMillis());
+        current.putLong(position + 8, id);
+        current.putLong(position + 16, offerId);
+        current.putLong(position + 24, memberId);
+        current.put(position + FROM, code(from));
+        current.put(position + TO, code(to));
+        current.put(position + KIND, (byte) (kind.ordinal() + 1));
+        position += RECORD_SIZE;
+    }
+
+    /**
+     * Reads the closed segments through their own read-only mapping and the
+     * current one up to the position seen when the scan starts.
+     */
+    private List<Transition> scan(Predicate<ByteBuffer> matches) {
+        List<Path> closed;
+        ByteBuffer open;
+        synchronized (this) {
+            closed = List.copyOf(segments);
+            open = current.duplicate().limit(position);
+        }
+
+        List<Transition> result = new ArrayList<>();
+        try {
+            for (Path segment : closed) {
+                try (FileChannel ch = FileChannel.open(segment, StandardOpenOption.READ)) {
+                    MappedByteBuffer mapped = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+                    scan(mapped.limit(endOf(mapped, mapped.capacity() / RECORD_SIZE) * RECORD_SIZE), matches, result);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        scan(open, matches, result);
+        return result;
+    }
+
+    private static void scan(ByteBuffer buffer, Predicate<ByteBuffer> matches, List<Transition> result) {
+        for (int offset = 0; offset + RECORD_SIZE <= buffer.limit(); offset += RECORD_SIZE) {
+            ByteBuffer record = buffer.slice(offset, RECORD_SIZE);
+            if (matches.test(record)) result.add(read(record));
+        }
+    }
+
+    private static Transition read(ByteBuffer record) {
+        Kind kind = Kind.values()[record.get(KIND) - 1];
+        Enum<?>[] statuses = kind == Kind.OFFER ? OFFER_STATUSES : DEMAND_STATUSES;
+        int from = record.get(FROM);
+        return new Transition(
+                Instant.ofEpochMilli(record.getLong(0)),
+                kind,
+                record.getLong(8),
+                record.getLong(16),
+                record.getLong(24),
+                from == 0 ? null : statuses[from - 1].name(),
+                statuses[record.get(TO) - 1].name()
+        );
+    }
+
+    /**
+     * @return the number of records in the segment: binary search for the first zero kind
+     */
+    private static int endOf(ByteBuffer segment, int slots) {
+        int low = 0;
+        int high = slots;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (segment.get(mid * RECORD_SIZE + KIND) != 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private void rotate() {
+        try {
+            current.force();
+            channel.close();
+            segments.add(segmentPath(currentNumber));
+            openSegment(currentNumber + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Transition journal rotation failed", e);
+        }
+    }
+
+    /**
+     * Maps a segment, creating it if needed. An existing segment keeps its size
+     * even if ressourcerie.audit.segment-records changed since it was created.
+     */
+    private void openSegment(int number) throws IOException {
+        channel = FileChannel.open(segmentPath(number), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        current = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(channel.size(), segmentSize));
+        currentNumber = number;
+        position = 0;
+    }
+
+    private Path segmentPath(int number) {
+        return directory.resolve(PREFIX + String.format("%06d", number) + SUFFIX);
+    }
+
+    private static byte code(Enum<?> status) {
+        return (byte) (status == null ? 0 : status.ordinal() + 1);
+    }
+}
@@ -0,0 +1,110 @@
+package com.aletheia.miniproject.core.cache;
+
+import com.aletheia.miniproject.core.entities.Association;
+import com.aletheia.miniproject.core.entities.Member;
+import com.aletheia.miniproject.repos.IAssociationRepository;
+import com.aletheia.miniproject.repos.IMemberRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-process LRU cache of member id -> association id and association id -> name.
+ * Members never change association and are never deleted, so entries stay valid;
+ * the facade still refreshes them explicitly whenever it saves a member or an association.
+ */
+@Component
+public class MemberAssociationCache {
+    private final IMemberRepository memberRepo;
+    private final IAssociationRepository associationRepo;
+
+    private final Map<Long, Long> associationIdByMember;
+    private final Map<Long, String> nameByAssociation;
+
+    public MemberAssociationCache(
+            IMemberRepository memberRepo,
+            IAssociationRepository associationRepo,
+            @Value("${ressourcerie.cache.members.max-size:10000}") int maxMembers,
+            @Value("${ressourcerie.cache.associations.max-size:1000}") int maxAssociations
+    ) {
+        if (maxMembers <= 0 || maxAssociations <= 0) {
+            throw new IllegalArgumentException("cache sizes must be > 0");
+        }
+        this.memberRepo = memberRepo;
+        this.associationRepo = associationRepo;
+        this.associationIdByMember = lru(maxMembers);
+        this.nameByAssociation = lru(maxAssociations);
+    }
+
+    /**
+     * @return the association id of a member, or empty if the member does not exist
+     */
+    public Optional<Long> associationIdOf(Long memberId) {
+        synchronized (associationIdByMember) {
+            Long cached = associationIdByMember.get(memberId);
+            if (cached != null) return Optional.of(cached);
+        }
+
+        Optional<Long> loaded = memberRepo.findAssociationIdById(memberId);
+        loaded.ifPresent(associationId -> {
+            synchronized (associationIdByMember) {
+                associationIdByMember.put(memberId, associationId);
+            }
+        });
+        return loaded;
+    }
+
+    /**
+     * @return the name of an association, or empty if it does not exist
+     */
+    public Optional<String> associationName(Long associationId) {
+        synchronized (nameByAssociation) {
+            String cached = nameByAssociation.get(associationId);
+            if (cached != null) return Optional.of(cached);
+        }
+
+        Optional<String> loaded = associationRepo.findById(associationId).map(Association::getName);
+        loaded.ifPresent(name -> {
+            synchronized (nameByAssociation) {
+                nameByAssociation.put(associationId, name);
+            }
+        });
+        return loaded;
+    }
+
+    public void memberSaved(Member member) {
+        synchronized (associationIdByMember) {
+            associationIdByMember.remove(member.getId());
+            if (member.getAssociation() != null) {
+                associationIdByMember.put(member.getId(), member.getAssociation().getId());
+            }
+        }
+    }
+
+    public void associationSaved(Association association) {
+        synchronized (nameByAssociation) {
+            nameByAssociation.put(association.getId(), association.getName());
+        }
+    }
+
+    public void clear() {
+        synchronized (associationIdByMember) {
+            associationIdByMember.clear();
+        }
+        synchronized (nameByAssociation) {
+            nameByAssociation.clear();
+        }
+    }
+
+    private static <K, V> Map<K, V> lru(int maxSize) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+}
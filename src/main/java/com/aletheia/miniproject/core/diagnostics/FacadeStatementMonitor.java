@@ -0,0 +1,65 @@
+package com.aletheia.miniproject.core.diagnostics;
+
+import com.aletheia.miniproject.core.facade.RessourcerieFacade;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Records the SQL statements of every call to the JPA facade and logs a warning
+ * when one call runs the same statement shape more than
+ * ressourcerie.sql.repeat-warning-threshold times, the usual sign of an N+1 pattern.
+ * A threshold of 0 disables the monitor.
+ */
+@Component
+public class FacadeStatementMonitor implements BeanPostProcessor {
+    private static final Logger log = LoggerFactory.getLogger(FacadeStatementMonitor.class);
+
+    private final int threshold;
+
+    public FacadeStatementMonitor(@Value("${ressourcerie.sql.repeat-warning-threshold:10}") int threshold) {
+        if (threshold < 0) throw new IllegalArgumentException("ressourcerie.sql.repeat-warning-threshold must be >= 0");
+        this.threshold = threshold;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (threshold == 0 || !(bean instanceof RessourcerieFacade)) return bean;
+
+        ProxyFactory proxy = new ProxyFactory(bean);
+        proxy.addAdvice((MethodInterceptor) this::monitor);
+        return proxy.getProxy();
+    }
+
+    private Object monitor(MethodInvocation invocation) throws Throwable {
+        if (SqlStatementRecorder.isRecording()) {
+            return invocation.proceed();
+        }
+
+        Throwable[] failure = new Throwable[1];
+        SqlStatementRecorder.Recorded<Object> recorded = SqlStatementRecorder.record(() -> {
+            try {
+                return invocation.proceed();
+            } catch (Throwable t) {
+                failure[0] = t;
+                return null;
+            }
+        });
+
+        Map<String, Integer> repeated = recorded.recording().repeatedMoreThan(threshold);
+        if (!repeated.isEmpty()) {
+            log.warn("{} ran {} statements, repeated: {}",
+                    invocation.getMethod().getName(), recorded.recording().total(), repeated);
+        }
+
+        if (failure[0] != null) throw failure[0];
+        return recorded.result();
+    }
+}
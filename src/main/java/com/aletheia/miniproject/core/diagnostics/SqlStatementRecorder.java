@@ -0,0 +1,112 @@
+package com.aletheia.miniproject.core.diagnostics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Hibernate StatementInspector counting the SQL statements run on the current thread
+ * while a recording is open. Registered through hibernate.session_factory.statement_inspector,
+ * so Hibernate creates the instance itself: recordings live in a static ThreadLocal.
+ * Statements run on other threads (e.g. sharding fan-out) are not recorded.
+ */
+public class SqlStatementRecorder implements StatementInspector {
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\?(\\s*,\\s*\\?)+");
+    private static final Pattern NUMBER = Pattern.compile("\\b\\d+\\b");
+
+    @Override
+    public String inspect(String sql) {
+        Recording recording = CURRENT.get();
+        if (recording != null) {
+            recording.add(shapeOf(sql));
+        }
+        return sql;
+    }
+
+    /**
+     * Runs a call while recording its statements. Nested recordings add to the outer one.
+     */
+    public static <T> Recorded<T> record(Supplier<T> call) {
+        Recording outer = CURRENT.get();
+        if (outer != null) {
+            return new Recorded<>(call.get(), outer);
+        }
+
+        Recording recording = new Recording();
+        CURRENT.set(recording);
+        try {
+            return new Recorded<>(call.get(), recording);
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    public static Recording record(Runnable call) {
+        return record(() -> {
+            call.run();
+            return null;
+        }).recording();
+    }
+
+    public static boolean isRecording() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Statement text with layout, literal numbers and IN-list lengths removed,
+     * so that the same query with other arguments has the same shape.
+     */
+    static String shapeOf(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        shape = NUMBER.matcher(shape).replaceAll("?");
+        return PARAMETER_LIST.matcher(shape).replaceAll("?");
+    }
+
+    public record Recorded<T>(T result, Recording recording) {
+    }
+
+    /**
+     * Statements of one recording, counted per shape in execution order.
+     */
+    public static final class Recording {
+        private final Map<String, Integer> countByShape = new LinkedHashMap<>();
+        private int total;
+
+        private void add(String shape) {
+            countByShape.merge(shape, 1, Integer::sum);
+            total++;
+        }
+
+        public int total() {
+            return total;
+        }
+
+        public Map<String, Integer> countByShape() {
+            return Map.copyOf(countByShape);
+        }
+
+        /**
+         * @return the shapes run more than threshold times, with their count
+         */
+        public Map<String, Integer> repeatedMoreThan(int threshold) {
+            Map<String, Integer> repeated = new LinkedHashMap<>();
+            countByShape.forEach((shape, count) -> {
+                if (count > threshold) repeated.put(shape, count);
+            });
+            return repeated;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(total + " statement(s)");
+            countByShape.forEach((shape, count) -> sb.append("\n  ").append(count).append(" x ").append(shape));
+            return sb.toString();
+        }
+    }
+}
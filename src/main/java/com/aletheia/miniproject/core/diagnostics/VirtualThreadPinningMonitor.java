@@ -0,0 +1,66 @@
+package com.aletheia.miniproject.core.diagnostics;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Streams the JFR jdk.VirtualThreadPinned event and logs every virtual thread that
+ * kept its carrier longer than ressourcerie.diagnostics.pinned-threshold-ms, with the
+ * top of its stack. Since Java 24 synchronized no longer pins, so what shows up here is
+ * mostly native code, typically the SQLite driver's JNI calls. 0 disables the monitor.
+ */
+@Component
+public class VirtualThreadPinningMonitor {
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 6;
+
+    private final RecordingStream stream;
+    private final LongAdder pinned = new LongAdder();
+
+    public VirtualThreadPinningMonitor(@Value("${ressourcerie.diagnostics.pinned-threshold-ms:20}") long thresholdMs) {
+        if (thresholdMs < 0) throw new IllegalArgumentException("ressourcerie.diagnostics.pinned-threshold-ms must be >= 0");
+        if (thresholdMs == 0) {
+            this.stream = null;
+            return;
+        }
+
+        this.stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+        stream.onEvent(EVENT, this::pinned);
+        stream.startAsync();
+    }
+
+    public long pinnedCount() {
+        return pinned.sum();
+    }
+
+    @PreDestroy
+    public void close() {
+        if (stream != null) stream.close();
+    }
+
+    private void pinned(RecordedEvent event) {
+        pinned.increment();
+
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        String top = frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(f -> f.getMethod().getType().getName() + "." + f.getMethod().getName() + ":" + f.getLineNumber())
+                .collect(Collectors.joining(" <- "));
+        log.warn("Virtual thread {} pinned its carrier for {} ms at {}",
+                event.getThread() == null ? "?" : event.getThread().getJavaName(),
+                event.getDuration().toMillis(), top);
+    }
+}
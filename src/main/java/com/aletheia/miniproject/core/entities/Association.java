@@ -1,8 +1,12 @@
 package com.aletheia.miniproject.core.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "associations")
 @Table(name = "associations")
 public class Association {
     @Id
@@ -32,6 +36,10 @@ public class Association {
         return id;
     }
 
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public String getName() {
         return name;
     }
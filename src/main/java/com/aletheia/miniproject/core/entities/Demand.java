@@ -40,6 +40,10 @@ public class Demand {
         return id;
     }
 
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public Offer getOffer() {
         return offer;
     }
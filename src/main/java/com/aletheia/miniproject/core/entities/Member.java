@@ -12,7 +12,7 @@ public class Member {
     @Column(nullable = false, length = 64)
     private String name;
 
-    @OneToOne
+    @ManyToOne
     @JoinColumn(name = "association_id", nullable = false)
     private Association association;
 
@@ -32,6 +32,10 @@ public class Member {
         return id;
     }
 
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public String getName() {
         return name;
     }
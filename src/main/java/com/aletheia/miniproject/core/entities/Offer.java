@@ -1,6 +1,8 @@
 package com.aletheia.miniproject.core.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -9,7 +11,9 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 @Entity
-@Table(name = "offers")
+@Table(name = "offers", indexes = {
+        @Index(name = "idx_offers_status_price", columnList = "status, price_cents")
+})
 public class Offer {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -26,7 +30,8 @@ public class Offer {
     @Column(nullable = false)
     private String description;
 
-    @Column(nullable = false)
+    @Convert(converter = PriceCentsConverter.class)
+    @Column(name = "price_cents", nullable = false)
     private BigDecimal price;
 
     @Enumerated(EnumType.STRING)
@@ -40,6 +45,7 @@ public class Offer {
     private LocalDateTime closedAt;
 
     @OneToMany(mappedBy = "offer", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "offer-category-sets")
     private Set<OfferCategory> categories = new HashSet<>();
 
     public Offer() {
@@ -58,6 +64,10 @@ public class Offer {
         return id;
     }
 
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public Association getAssociation() {
         return association;
     }
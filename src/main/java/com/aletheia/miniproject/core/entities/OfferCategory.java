@@ -1,8 +1,12 @@
 package com.aletheia.miniproject.core.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "offer-categories")
 @Table(name = "offers_categories")
 public class OfferCategory {
     @EmbeddedId
@@ -0,0 +1,36 @@
+package com.aletheia.miniproject.core.entities;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Stores a price as a whole number of cents (INTEGER column) while keeping
+ * the BigDecimal API on the entity.
+ */
+@Converter
+public class PriceCentsConverter implements AttributeConverter<BigDecimal, Long> {
+    public static final int SCALE = 2;
+    /**
+     * Largest price the column holds: Long.MAX_VALUE cents.
+     */
+    public static final BigDecimal MAX_PRICE = BigDecimal.valueOf(Long.MAX_VALUE, SCALE);
+
+    @Override
+    public Long convertToDatabaseColumn(BigDecimal price) {
+        return price == null ? null : toCents(price);
+    }
+
+    @Override
+    public BigDecimal convertToEntityAttribute(Long cents) {
+        return cents == null ? null : BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * @throws ArithmeticException if the price has more than two decimals or does not fit in a long
+     */
+    public static long toCents(BigDecimal price) {
+        return price.movePointRight(SCALE).longValueExact();
+    }
+}
@@ -0,0 +1,23 @@
+package com.aletheia.miniproject.core.facade;
+
+/**
+ * Outcome of one item of a batch facade call: either a result (which may be null,
+ * e.g. an offer validated without any PENDING demand) or the reason it was skipped.
+ *
+ * @param id     the ID of the offer or demand the item targets
+ * @param result the item's result when it succeeded
+ * @param error  the reason the item failed, null when it succeeded
+ */
+public record BatchOutcome<T>(Long id, T result, String error) {
+    public static <T> BatchOutcome<T> succeeded(Long id, T result) {
+        return new BatchOutcome<>(id, result, null);
+    }
+
+    public static <T> BatchOutcome<T> failed(Long id, String error) {
+        return new BatchOutcome<>(id, null, error);
+    }
+
+    public boolean isSucceeded() {
+        return error == null;
+    }
+}
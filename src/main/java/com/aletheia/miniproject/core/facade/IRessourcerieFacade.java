@@ -56,6 +56,27 @@ public interface IRessourcerieFacade {
      */
     List<Offer> listOffersByCategory(Long categoryId);
 
+    /**
+     * Returns the OPEN offers whose price lies in a range, cheapest first.
+     *
+     * @param minPrice   lower bound (inclusive); if null, 0
+     * @param maxPrice   upper bound (inclusive); if null, no upper bound
+     * @param categoryId ID of the category to restrict to; if null, all categories
+     * @return the list of matching Offer objects ordered by price
+     */
+    List<Offer> listOffersByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Long categoryId);
+
+    /**
+     * Returns OPEN offers in the categories most often won together with
+     * the categories of the offers this member already won.
+     * A member who never won an offer gets offers from the most won categories.
+     *
+     * @param memberId the ID of the member
+     * @param limit    maximum number of offers
+     * @return the recommended offers, best first
+     */
+    List<Offer> recommendOffers(Long memberId, int limit);
+
     /**
      * Creates a new demand (request) for an offer.
      * Demands are ordered by creation date: first come, first served.
@@ -74,6 +95,15 @@ public interface IRessourcerieFacade {
      */
     void cancelDemand(Long demandId);
 
+    /**
+     * Cancels several demands at once, in a single transaction.
+     * Demands that do not exist or are not PENDING are reported and left untouched.
+     *
+     * @param demandIds the IDs of the demands to cancel
+     * @return one outcome per distinct demand ID, in request order
+     */
+    List<BatchOutcome<Void>> cancelDemands(List<Long> demandIds);
+
     /**
      * Computes the rank (position) of a demand in the queue for its offer.
      *
@@ -94,6 +124,17 @@ public interface IRessourcerieFacade {
      */
     Demand validateOffer(Long contactMemberId, Long offerId);
 
+    /**
+     * Validates several offers of the same association at once, in a single transaction.
+     * The contact member is checked once; offers that do not exist, are not OPEN
+     * or belong to another association are reported and left untouched.
+     *
+     * @param contactMemberId ID of the representer performing the validation
+     * @param offerIds        IDs of the offers to validate
+     * @return one outcome per distinct offer ID, in request order, with the winning Demand (or null) as result
+     */
+    List<BatchOutcome<Demand>> validateOffers(Long contactMemberId, List<Long> offerIds);
+
     /**
      * Archives an offer and all of its demands.
      * Archived objects are excluded from normal listings but kept for statistics.
@@ -0,0 +1,16 @@
+package com.aletheia.miniproject.core.facade;
+
+/**
+ * Thrown by the facade when a call conflicts with the current data:
+ * unknown id, wrong status, or an action the member is not allowed to take.
+ */
+public class RessourcerieConflictException extends IllegalStateException {
+
+    public RessourcerieConflictException(String message) {
+        super(message);
+    }
+
+    public RessourcerieConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
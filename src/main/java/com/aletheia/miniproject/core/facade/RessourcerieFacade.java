@@ -1,34 +1,96 @@
 package com.aletheia.miniproject.core.facade;
 
+import com.aletheia.miniproject.core.admission.RateLimiter;
+import com.aletheia.miniproject.core.audit.TransitionJournal;
+import com.aletheia.miniproject.core.cache.MemberAssociationCache;
 import com.aletheia.miniproject.core.entities.*;
+import com.aletheia.miniproject.core.readmodel.OfferReadModel;
+import com.aletheia.miniproject.core.readmodel.OfferView;
+import com.aletheia.miniproject.core.readmodel.OfferViewSource;
+import com.aletheia.miniproject.core.recommend.ApprovalHistory;
+import com.aletheia.miniproject.core.recommend.OfferRecommender;
+import com.aletheia.miniproject.notifications.DemandQueueSource;
+import com.aletheia.miniproject.notifications.DemandRankNotifier;
 import com.aletheia.miniproject.repos.*;
+import com.aletheia.miniproject.sharding.ShardRouter;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.exception.ConstraintViolationException;
+import org.sqlite.SQLiteErrorCode;
+import org.sqlite.SQLiteException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+/**
+ * JPA storage engine, the default (ressourcerie.storage.engine=jpa).
+ * Status transitions are recorded inside the transaction that makes them, after its
+ * first write: SQLite holds its write lock from there to the commit, so the audit trail
+ * follows the commit order. A commit failing after that leaves a transition that did not
+ * happen; the database stays the reference.
+ */
 @Service
-public class RessourcerieFacade implements IRessourcerieFacade {
+@ConditionalOnProperty(name = "ressourcerie.storage.engine", havingValue = "jpa", matchIfMissing = true)
+public class RessourcerieFacade implements IRessourcerieFacade, DemandQueueSource, ApprovalHistory, OfferViewSource {
+    private static final int BATCH_ATTEMPTS = 3;
+    private static final String PENDING_DEMAND_INDEX = "uq_demands_pending_offer_demander";
+    // SQLite names the columns of a violated unique index, not the index
+    private static final String PENDING_DEMAND_COLUMNS = "demands.offer_id, demands.demander_id";
+
     private final IAssociationRepository associationRepo;
     private final ICategoryRepository categoryRepo;
     private final IOfferRepository offerRepo;
     private final IMemberRepository memberRepo;
     private final IDemandRepository demandRepo;
+    private final DemandRankNotifier rankNotifier;
+    private final MemberAssociationCache memberCache;
+    private final RateLimiter rateLimiter;
+    private final ShardRouter shards;
+    private final OfferReadModel readModel;
+    private final OfferRecommender recommender;
+    private final TransitionJournal transitions;
+    private final TransactionTemplate tx;
+    private final EntityManager entityManager;
 
     public RessourcerieFacade(
             IAssociationRepository associationRepo,
             ICategoryRepository categoryRepo,
             IOfferRepository offerRepo,
             IMemberRepository memberRepo,
-            IDemandRepository demandRepo
+            IDemandRepository demandRepo,
+            DemandRankNotifier rankNotifier,
+            MemberAssociationCache memberCache,
+            RateLimiter rateLimiter,
+            ShardRouter shards,
+            OfferReadModel readModel,
+            OfferRecommender recommender,
+            TransitionJournal transitions,
+            PlatformTransactionManager transactionManager,
+            EntityManager entityManager
     ) {
         this.associationRepo = associationRepo;
         this.categoryRepo = categoryRepo;
         this.offerRepo = offerRepo;
         this.memberRepo = memberRepo;
         this.demandRepo = demandRepo;
+        this.rankNotifier = rankNotifier;
+        this.memberCache = memberCache;
+        this.rateLimiter = rateLimiter;
+        this.shards = shards;
+        this.readModel = readModel;
+        this.recommender = recommender;
+        this.transitions = transitions;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
     }
 
     @Override
@@ -36,8 +98,10 @@ public class RessourcerieFacade implements IRessourcerieFacade {
         if (name == null || name.isBlank()) {
             throw new IllegalArgumentException("Member name is null or blank");
         }
-        Member member = new Member(name.trim(), association);
-        return memberRepo.save(member);
+        Member member = memberRepo.save(new Member(name.trim(), association));
+        memberCache.memberSaved(member);
+        shards.memberSaved(member);
+        return member;
     }
 
     @Override
@@ -45,14 +109,15 @@ public class RessourcerieFacade implements IRessourcerieFacade {
         if (name == null || name.isBlank()) {
             throw new IllegalArgumentException("Category name is null or blank");
         }
-        Category category = new Category(name.trim());
-        return categoryRepo.save(category);
+        Category category = categoryRepo.save(new Category(name.trim()));
+        shards.categorySaved(category);
+        return category;
     }
 
     /**
      * Create an association with an existing member as representer.
      * Nominal: name non-blank, representer exists.
-     * Errors: IllegalArgumentException / IllegalStateException.
+     * Errors: IllegalArgumentException / RessourcerieConflictException.
      */
     @Override
     public Association createAssociation(String name) {
@@ -60,8 +125,10 @@ public class RessourcerieFacade implements IRessourcerieFacade {
             throw new IllegalArgumentException("Association name is null or blank");
         }
 
-        Association association = new Association(name.trim());
-        return associationRepo.save(association);
+        Association association = associationRepo.save(new Association(name.trim()));
+        memberCache.associationSaved(association);
+        shards.associationSaved(association);
+        return association;
     }
 
     /**
@@ -79,10 +146,12 @@ public class RessourcerieFacade implements IRessourcerieFacade {
         }
 
         Association association = associationRepo.findById(associationId)
-                .orElseThrow(() -> new IllegalStateException("Association id not found: " + associationId));
+                .orElseThrow(() -> new RessourcerieConflictException("Association id not found: " + associationId));
 
-        Member member = new Member(memberName.trim(), association);
-        return memberRepo.save(member);
+        Member member = memberRepo.save(new Member(memberName.trim(), association));
+        memberCache.memberSaved(member);
+        shards.memberSaved(member);
+        return member;
     }
 
     /**
@@ -94,14 +163,12 @@ public class RessourcerieFacade implements IRessourcerieFacade {
         if (name == null || name.isBlank()) throw new IllegalArgumentException("Offer name is null or blank");
         if (price == null) throw new IllegalArgumentException("Offer price is required");
         if (price.compareTo(BigDecimal.ZERO) < 0) throw new IllegalArgumentException("Offer price cannot be negative");
+        if (price.stripTrailingZeros().scale() > PriceCentsConverter.SCALE) throw new IllegalArgumentException("Offer price cannot have more than 2 decimals");
+        if (price.compareTo(PriceCentsConverter.MAX_PRICE) > 0) throw new IllegalArgumentException("Offer price is too large");
         if (categoryIds == null || categoryIds.isEmpty()) throw new IllegalArgumentException("categoryIds is required");
 
-        Member contact = memberRepo.findById(contactId)
-                .orElseThrow(() -> new IllegalStateException("Contact member not found: " + contactId));
-
-        if (contact.getAssociation() == null) {
-            throw new IllegalStateException("Contact member has no association");
-        }
+        Long associationId = memberCache.associationIdOf(contactId)
+                .orElseThrow(() -> new RessourcerieConflictException("Contact member not found: " + contactId));
 
         // Remove duplicates + nulls
         List<Long> distinctIds = categoryIds.stream()
@@ -109,16 +176,26 @@ public class RessourcerieFacade implements IRessourcerieFacade {
                 .distinct()
                 .toList();
 
-        List<Category> categories = categoryRepo.findAllById(distinctIds);
+        Offer offer = shards.onShard(associationId, () -> tx.execute(status -> {
+            Offer saved = saveOffer(associationId, name, description, price, distinctIds);
+            transitions.offerChanged(saved.getId(), contactId, null, saved.getStatus());
+            return saved;
+        }));
+        readModel.offerChanged(OfferView.of(offer, memberCache.associationName(associationId).orElse(null)));
+        return offer;
+    }
+
+    private Offer saveOffer(Long associationId, String name, String description, BigDecimal price, List<Long> distinctIds) {
+        List<Category> categories = categoryRepo.findCachedByIdIn(distinctIds);
 
         if (categories.size() != distinctIds.size()) {
             Set<Long> found = categories.stream().map(Category::getId).collect(Collectors.toSet());
             List<Long> missing = distinctIds.stream().filter(id -> !found.contains(id)).toList();
-            throw new IllegalStateException("Some categories not found: " + missing);
+            throw new RessourcerieConflictException("Some categories not found: " + missing);
         }
 
         Offer offer = new Offer(
-                contact.getAssociation(),
+                associationRepo.getReferenceById(associationId),
                 name.trim(),
                 description.trim(),
                 price,
@@ -142,7 +219,7 @@ public class RessourcerieFacade implements IRessourcerieFacade {
      */
     @Override
     public List<Offer> listOffers() {
-        return offerRepo.findAll();
+        return mergeOffers(shards.fanOut(() -> detachable(offerRepo.findAll())));
     }
 
     /**
@@ -154,7 +231,72 @@ public class RessourcerieFacade implements IRessourcerieFacade {
             throw new IllegalArgumentException("categoryId is invalid: " + categoryId);
         }
 
-        return offerRepo.findDistinctByCategoriesId(categoryId);
+        return mergeOffers(shards.fanOut(() -> detachable(offerRepo.findDistinctByCategoriesId(categoryId))));
+    }
+
+    /**
+     * List OPEN offers in a price band, optionally restricted to a category.
+     */
+    @Override
+    public List<Offer> listOffersByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Long categoryId) {
+        BigDecimal min = minPrice == null ? BigDecimal.ZERO : minPrice;
+        if (min.compareTo(BigDecimal.ZERO) < 0) throw new IllegalArgumentException("minPrice cannot be negative");
+        // Compared with the caller's bound: the MAX_PRICE default must not reject a minimum above it
+        if (maxPrice != null && min.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("minPrice is greater than maxPrice");
+        }
+        if (categoryId != null && categoryId <= 0) {
+            throw new IllegalArgumentException("categoryId is invalid: " + categoryId);
+        }
+
+        // No stored price is above MAX_PRICE, and binding a larger bound would overflow price_cents
+        if (min.compareTo(PriceCentsConverter.MAX_PRICE) > 0) return List.of();
+        BigDecimal max = maxPrice == null ? PriceCentsConverter.MAX_PRICE : maxPrice;
+
+        // Round bounds to whole cents so they compare correctly against price_cents
+        min = min.setScale(PriceCentsConverter.SCALE, RoundingMode.CEILING);
+        max = max.min(PriceCentsConverter.MAX_PRICE).setScale(PriceCentsConverter.SCALE, RoundingMode.FLOOR);
+
+        BigDecimal from = min;
+        BigDecimal to = max;
+        List<Offer> offers = mergeOffers(shards.fanOut(() -> detachable(categoryId == null
+                ? offerRepo.findByStatusAndPriceBetween(OfferStatus.OPEN, from, to)
+                : offerRepo.findByStatusAndPriceBetweenAndCategoryId(OfferStatus.OPEN, from, to, categoryId))));
+
+        if (shards.isEnabled()) {
+            offers = offers.stream().sorted(Comparator.comparing(Offer::getPrice)).toList();
+        }
+        return offers;
+    }
+
+    /**
+     * Scores categories in memory; only the chosen offers are loaded, by id.
+     */
+    @Override
+    public List<Offer> recommendOffers(Long memberId, int limit) {
+        if (memberId == null || memberId <= 0) {
+            throw new IllegalArgumentException("memberId is invalid: " + memberId);
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be > 0");
+        }
+        if (memberCache.associationIdOf(memberId).isEmpty()) {
+            throw new RessourcerieConflictException("Member not found: " + memberId);
+        }
+
+        List<Long> ids = recommender.recommend(memberId, limit);
+        if (ids.isEmpty()) return List.of();
+
+        Map<Long, Offer> byId = new HashMap<>();
+        for (List<Offer> offers : shards.fanOut(() -> detachable(offerRepo.findAllById(ids)))) {
+            offers.forEach(o -> byId.put(o.getId(), o));
+        }
+
+        // The read model may lag behind: drop offers closed in the meantime
+        return ids.stream()
+                .map(byId::get)
+                .filter(o -> o != null && o.getStatus() == OfferStatus.OPEN)
+                .toList();
     }
 
     /**
@@ -169,24 +311,25 @@ public class RessourcerieFacade implements IRessourcerieFacade {
             throw new IllegalArgumentException("demanderId is invalid: " + memberId);
         }
 
+        rateLimiter.acquireDemand(memberId, offerId);
+
+        Demand demand = shards.onShard(shards.shardOf(offerId), () -> tx.execute(status -> saveDemand(offerId, memberId)));
+        rankNotifier.queueChanged(offerId, () -> demandsOf(offerId));
+        return demand;
+    }
+
+    private Demand saveDemand(Long offerId, Long memberId) {
         Offer offer = offerRepo.findById(offerId)
-                .orElseThrow(() -> new IllegalStateException("Offer not found: " + offerId));
+                .orElseThrow(() -> new RessourcerieConflictException("Offer not found: " + offerId));
 
         if (offer.getStatus() != OfferStatus.OPEN) {
-            throw new IllegalStateException("Offer is not OPEN (status=" + offer.getStatus() + ")");
+            throw new RessourcerieConflictException("Offer is not OPEN (status=" + offer.getStatus() + ")");
         }
 
-        Member demander = memberRepo.findById(memberId)
-                .orElseThrow(() -> new IllegalStateException("Member not found: " + memberId));
-
-        // Avoid duplicates (same demander can't demand same offer twice while still pending)
-        boolean alreadyPending = demandRepo.existsPendingByOfferIdAndDemanderId(
-                offerId,
-                memberId
-        );
-        if (alreadyPending) {
-            throw new IllegalStateException("This member already has a PENDING demand for this offer");
+        if (memberCache.associationIdOf(memberId).isEmpty()) {
+            throw new RessourcerieConflictException("Member not found: " + memberId);
         }
+        Member demander = memberRepo.getReferenceById(memberId);
 
         Demand demand = new Demand(
                 offer,
@@ -195,7 +338,16 @@ public class RessourcerieFacade implements IRessourcerieFacade {
                 DemandStatus.PENDING
         );
 
-        return demandRepo.save(demand);
+        // Avoid duplicates (same demander can't demand same offer twice while still pending):
+        // enforced by the uq_demands_pending_offer_demander partial unique index
+        try {
+            demand = demandRepo.save(demand);
+        } catch (DataAccessException e) {
+            if (!violatesPendingDemandIndex(e)) throw e;
+            throw new RessourcerieConflictException("This member already has a PENDING demand for this offer", e);
+        }
+        transitions.demandChanged(demand.getId(), offerId, memberId, null, DemandStatus.PENDING);
+        return demand;
     }
 
     @Override
@@ -204,15 +356,69 @@ public class RessourcerieFacade implements IRessourcerieFacade {
             throw new IllegalArgumentException("demandId is invalid: " + demandId);
         }
 
-        Demand demand = demandRepo.findById(demandId)
-                .orElseThrow(() -> new IllegalStateException("Demand not found: " + demandId));
+        BatchOutcome<Void> outcome = cancelDemands(List.of(demandId)).getFirst();
+        if (!outcome.isSucceeded()) {
+            throw new RessourcerieConflictException(outcome.error());
+        }
+    }
+
+    /**
+     * One IN query and one update per shard; with sharding on, each shard commits on its own.
+     * A demand changed by someone else between the two fails alone, the others are cancelled.
+     */
+    @Override
+    public List<BatchOutcome<Void>> cancelDemands(List<Long> demandIds) {
+        List<Long> ids = batchIds(demandIds, "demandIds");
+
+        Map<Long, BatchOutcome<Void>> outcomes = new HashMap<>();
+        byShard(ids).forEach((shard, group) -> shards.onShard(shard, () -> cancelPending(group, outcomes)));
+        return ids.stream().map(outcomes::get).toList();
+    }
+
+    private void cancelPending(List<Long> ids, Map<Long, BatchOutcome<Void>> outcomes) {
+        Map<Long, BatchOutcome<Void>> failed = new HashMap<>();
+        List<Demand> cancelled = retryOnRace(() -> tx.execute(status -> {
+            failed.clear();
+            Map<Long, Demand> found = new HashMap<>();
+            demandRepo.findAllById(ids).forEach(d -> found.put(d.getId(), d));
+
+            List<Demand> pending = new ArrayList<>();
+            for (Long id : ids) {
+                Demand demand = found.get(id);
+                if (demand == null) {
+                    failed.put(id, BatchOutcome.failed(id, "Demand not found: " + id));
+                } else if (demand.getStatus() != DemandStatus.PENDING) {
+                    failed.put(id, BatchOutcome.failed(id, "Only PENDING demands can be cancelled"));
+                } else {
+                    pending.add(demand);
+                }
+            }
+            if (pending.isEmpty()) return pending;
+
+            int updated = demandRepo.updatePendingStatus(pending.stream().map(Demand::getId).toList(), DemandStatus.CANCELLED);
+            if (updated != pending.size()) throw new BatchRaceException();
+
+            for (Demand d : pending) {
+                transitions.demandChanged(d.getId(), d.getOffer().getId(), d.getDemander().getId(),
+                        DemandStatus.PENDING, DemandStatus.CANCELLED);
+                entityManager.detach(d);
+            }
+            return pending;
+        }));
 
-        if (demand.getStatus() != DemandStatus.PENDING) {
-            throw new IllegalStateException("Only PENDING demands can be cancelled");
+        if (cancelled == null) {
+            ids.forEach(id -> outcomes.put(id, BatchOutcome.failed(id, "Demand changed concurrently: " + id)));
+            return;
         }
+        outcomes.putAll(failed);
 
-        demand.setStatus(DemandStatus.CANCELLED);
-        demandRepo.save(demand);
+        Set<Long> offerIds = new LinkedHashSet<>();
+        for (Demand d : cancelled) {
+            d.setStatus(DemandStatus.CANCELLED);
+            offerIds.add(d.getOffer().getId());
+            outcomes.put(d.getId(), BatchOutcome.succeeded(d.getId(), null));
+        }
+        offerIds.forEach(offerId -> rankNotifier.queueChanged(offerId, () -> demandsOf(offerId)));
     }
 
     @Override
@@ -221,12 +427,17 @@ public class RessourcerieFacade implements IRessourcerieFacade {
             throw new IllegalArgumentException("demandId is invalid: " + demandId);
         }
 
+        return shards.onShard(shards.shardOf(demandId), () -> rankOf(demandId));
+    }
+
+    private Long rankOf(Long demandId) {
         Demand demand = demandRepo.findById(demandId)
-                .orElseThrow(() -> new IllegalStateException("Demand not found: " + demandId));
+                .orElseThrow(() -> new RessourcerieConflictException("Demand not found: " + demandId));
+        rateLimiter.acquireRankLookup(demand.getDemander().getId());
 
         Offer offer = demand.getOffer();
         if (offer == null) {
-            throw new IllegalStateException("Demand has no offer");
+            throw new RessourcerieConflictException("Demand has no offer");
         }
 
         List<Demand> demands = demandRepo.findByOfferIdOrderByCreatedAtAsc(offer.getId())
@@ -252,40 +463,110 @@ public class RessourcerieFacade implements IRessourcerieFacade {
             throw new IllegalArgumentException("offerId is invalid");
         }
 
-        Member contact = memberRepo.findById(contactMemberId)
-                .orElseThrow(() -> new IllegalStateException("Contact member not found: " + contactMemberId));
-
-        Offer offer = offerRepo.findById(offerId)
-                .orElseThrow(() -> new IllegalStateException("Offer not found: " + offerId));
-
-        if (offer.getStatus() != OfferStatus.OPEN) {
-            throw new IllegalStateException("Offer is not OPEN");
+        BatchOutcome<Demand> outcome = validateOffers(contactMemberId, List.of(offerId)).getFirst();
+        if (!outcome.isSucceeded()) {
+            throw new RessourcerieConflictException(outcome.error());
         }
+        return outcome.result();
+    }
 
-        if (offer.getAssociation() == null ||
-                contact.getAssociation() == null ||
-                !offer.getAssociation().getId().equals(contact.getAssociation().getId())) {
-            throw new IllegalStateException("Contact member is not allowed to validate this offer");
+    /**
+     * The contact member is resolved once; then per shard one IN query for the offers,
+     * one for their PENDING demands and three set-based updates in one transaction.
+     * With sharding on, each shard commits on its own. An offer whose row or demands
+     * changed between the reads and the updates fails alone, the others are validated.
+     */
+    @Override
+    public List<BatchOutcome<Demand>> validateOffers(Long contactMemberId, List<Long> offerIds) {
+        if (contactMemberId == null || contactMemberId <= 0) {
+            throw new IllegalArgumentException("contactMemberId is invalid");
         }
+        List<Long> ids = batchIds(offerIds, "offerIds");
+
+        Long contactAssociationId = memberCache.associationIdOf(contactMemberId)
+                .orElseThrow(() -> new RessourcerieConflictException("Contact member not found: " + contactMemberId));
+
+        Map<Long, BatchOutcome<Demand>> outcomes = new HashMap<>();
+        byShard(ids).forEach((shard, group) ->
+                shards.onShard(shard, () -> closeOffers(contactMemberId, contactAssociationId, group, outcomes)));
+        return ids.stream().map(outcomes::get).toList();
+    }
+
+    private void closeOffers(Long contactMemberId, Long contactAssociationId, List<Long> ids,
+                             Map<Long, BatchOutcome<Demand>> outcomes) {
+        LocalDateTime closedAt = LocalDateTime.now();
+        Map<Long, BatchOutcome<Demand>> failed = new HashMap<>();
+
+        Map<Long, List<Demand>> queues = retryOnRace(() -> tx.execute(status -> {
+            failed.clear();
+            Map<Long, Offer> found = new HashMap<>();
+            offerRepo.findAllById(ids).forEach(o -> found.put(o.getId(), o));
+
+            Map<Long, List<Demand>> closing = new LinkedHashMap<>();
+            for (Long id : ids) {
+                Offer offer = found.get(id);
+                if (offer == null) {
+                    failed.put(id, BatchOutcome.failed(id, "Offer not found: " + id));
+                } else if (offer.getStatus() != OfferStatus.OPEN) {
+                    failed.put(id, BatchOutcome.failed(id, "Offer is not OPEN"));
+                } else if (offer.getAssociation() == null || !offer.getAssociation().getId().equals(contactAssociationId)) {
+                    failed.put(id, BatchOutcome.failed(id, "Contact member is not allowed to validate this offer"));
+                } else {
+                    closing.put(id, new ArrayList<>());
+                }
+            }
+            if (closing.isEmpty()) return closing;
+
+            demandRepo.findPendingByOfferIdIn(closing.keySet()).forEach(d -> closing.get(d.getOffer().getId()).add(d));
 
-        List<Demand> demands = demandRepo.findByOfferIdOrderByCreatedAtAsc(offerId);
+            // The oldest PENDING demand of each offer wins, the others lose
+            List<Long> approvedIds = new ArrayList<>();
+            List<Long> rejectedIds = new ArrayList<>();
+            for (List<Demand> queue : closing.values()) {
+                for (Demand d : queue) {
+                    (d == queue.getFirst() ? approvedIds : rejectedIds).add(d.getId());
+                }
+            }
 
-        Demand approved = null;
-        for (Demand d : demands) {
-            if (d.getStatus() == DemandStatus.PENDING && approved == null) {
-                d.setStatus(DemandStatus.APPROVED);
-                approved = d;
-            } else if (d.getStatus() == DemandStatus.PENDING) {
-                d.setStatus(DemandStatus.REJECTED);
+            int updated = approvedIds.isEmpty() ? 0 : demandRepo.updatePendingStatus(approvedIds, DemandStatus.APPROVED);
+            updated += rejectedIds.isEmpty() ? 0 : demandRepo.updatePendingStatus(rejectedIds, DemandStatus.REJECTED);
+            if (updated != approvedIds.size() + rejectedIds.size() || offerRepo.closeOpen(closing.keySet(), closedAt) != closing.size()) {
+                throw new BatchRaceException();
             }
-            demandRepo.save(d);
+
+            closing.forEach((offerId, queue) -> {
+                for (Demand d : queue) {
+                    transitions.demandChanged(d.getId(), offerId, d.getDemander().getId(), DemandStatus.PENDING,
+                            d == queue.getFirst() ? DemandStatus.APPROVED : DemandStatus.REJECTED);
+                    entityManager.detach(d);
+                }
+                transitions.offerChanged(offerId, contactMemberId, OfferStatus.OPEN, OfferStatus.CLOSED);
+                entityManager.detach(found.get(offerId));
+            });
+            return closing;
+        }));
+
+        if (queues == null) {
+            ids.forEach(id -> outcomes.put(id, BatchOutcome.failed(id, "Offer or its demands changed concurrently: " + id)));
+            return;
         }
+        outcomes.putAll(failed);
 
-        offer.setStatus(OfferStatus.CLOSED);
-        offer.setClosedAt(LocalDateTime.now());
-        offerRepo.save(offer);
+        for (Map.Entry<Long, List<Demand>> entry : queues.entrySet()) {
+            Long offerId = entry.getKey();
+            List<Demand> queue = entry.getValue();
+            Demand approved = queue.isEmpty() ? null : queue.getFirst();
 
-        return approved;
+            for (Demand d : queue) {
+                d.setStatus(d == approved ? DemandStatus.APPROVED : DemandStatus.REJECTED);
+            }
+            readModel.offerStatusChanged(offerId, OfferStatus.CLOSED, closedAt);
+            if (approved != null) {
+                recommender.demandApproved(approved.getDemander().getId(), offerId);
+            }
+            rankNotifier.queueChanged(offerId, () -> demandsOf(offerId));
+            outcomes.put(offerId, BatchOutcome.succeeded(offerId, approved));
+        }
     }
 
     @Override
@@ -294,40 +575,199 @@ public class RessourcerieFacade implements IRessourcerieFacade {
             throw new IllegalArgumentException("offerId is invalid: " + offerId);
         }
 
-        Offer offer = offerRepo.findById(offerId)
-                .orElseThrow(() -> new IllegalStateException("Offer not found: " + offerId));
-
-        offer.setStatus(OfferStatus.ARCHIVED);
-        offer.setClosedAt(LocalDateTime.now());
-        offerRepo.save(offer);
+        Offer archived = shards.onShard(shards.shardOf(offerId), () -> tx.execute(status -> {
+            Offer offer = offerRepo.findById(offerId)
+                    .orElseThrow(() -> new RessourcerieConflictException("Offer not found: " + offerId));
+
+            OfferStatus previous = offer.getStatus();
+            offer.setStatus(OfferStatus.ARCHIVED);
+            offer.setClosedAt(LocalDateTime.now());
+            offerRepo.saveAndFlush(offer);
+            transitions.offerChanged(offerId, 0, previous, OfferStatus.ARCHIVED);
+            return offer;
+        }));
+        readModel.offerStatusChanged(offerId, archived.getStatus(), archived.getClosedAt());
     }
 
     @Override
     public Map<Integer, Integer> getOfferCountByAssociation() {
-        return offerRepo.findAll().stream()
-                .filter(o -> o.getAssociation() != null && o.getAssociation().getId() != null)
-                .collect(Collectors.groupingBy(
-                        o -> o.getAssociation().getId().intValue(),
-                        Collectors.collectingAndThen(Collectors.counting(), Long::intValue)
-                ));
+        return sumCounts(shards.fanOut(offerRepo::countByAssociation));
     }
 
     @Override
     public Map<Integer, Integer> getOfferWinsByAssociation() {
-        Map<Integer, Integer> result = new HashMap<>();
+        return sumCounts(shards.fanOut(demandRepo::countApprovedByDemanderAssociation));
+    }
 
-        List<Demand> approvedDemands = demandRepo.findAll().stream()
-                .filter(d -> d.getStatus() == DemandStatus.APPROVED)
-                .toList();
+    @Override
+    public Long offerIdOfDemand(Long demandId) {
+        return shards.onShard(shards.shardOf(demandId), () -> demandRepo.findById(demandId)
+                .orElseThrow(() -> new RessourcerieConflictException("Demand not found: " + demandId))
+                .getOffer().getId());
+    }
 
-        for (Demand d : approvedDemands) {
-            Member m = d.getDemander();
-            if (m == null || m.getAssociation() == null) continue;
+    @Override
+    public Long associationIdOfOffer(Long offerId) {
+        return shards.onShard(shards.shardOf(offerId), () -> offerRepo.findById(offerId)
+                .orElseThrow(() -> new RessourcerieConflictException("Offer not found: " + offerId))
+                .getAssociation().getId());
+    }
 
-            Integer associationId = m.getAssociation().getId().intValue();
-            result.merge(associationId, 1, Integer::sum);
+    @Override
+    public Long associationIdOfMember(Long memberId) {
+        return memberCache.associationIdOf(memberId)
+                .orElseThrow(() -> new RessourcerieConflictException("Member not found: " + memberId));
+    }
+
+    @Override
+    public List<Demand> demandsOf(Long offerId) {
+        return shards.onShard(shards.shardOf(offerId), () -> demandRepo.findByOfferIdOrderByCreatedAtAsc(offerId));
+    }
+
+    @Override
+    public void forEachApproval(ApprovalConsumer consumer) {
+        for (List<Object[]> rows : shards.fanOut(demandRepo::findApprovedDemandCategories)) {
+            // Rows come grouped by demand: one call per demand with all its categories
+            int start = 0;
+            for (int i = 1; i <= rows.size(); i++) {
+                if (i < rows.size() && rows.get(i)[0].equals(rows.get(start)[0])) continue;
+
+                long[] categoryIds = new long[i - start];
+                for (int j = start; j < i; j++) {
+                    categoryIds[j - start] = ((Number) rows.get(j)[2]).longValue();
+                }
+                consumer.accept(((Number) rows.get(start)[1]).longValue(), categoryIds);
+                start = i;
+            }
         }
+    }
 
+    @Override
+    public List<OfferView> offerViews() {
+        List<OfferView> views = new ArrayList<>();
+        for (List<Object[]> rows : shards.fanOut(offerRepo::findOfferViewRows)) {
+            // Rows come grouped by offer: one view per offer with all its categories
+            int start = 0;
+            for (int i = 1; i <= rows.size(); i++) {
+                if (i < rows.size() && rows.get(i)[0].equals(rows.get(start)[0])) continue;
+
+                List<Long> categoryIds = new ArrayList<>(i - start);
+                for (int j = start; j < i; j++) {
+                    if (rows.get(j)[9] != null) categoryIds.add(((Number) rows.get(j)[9]).longValue());
+                }
+                Object[] row = rows.get(start);
+                views.add(new OfferView(
+                        ((Number) row[0]).longValue(),
+                        ((Number) row[1]).longValue(),
+                        (String) row[2],
+                        (String) row[3],
+                        (String) row[4],
+                        (BigDecimal) row[5],
+                        (OfferStatus) row[6],
+                        (LocalDateTime) row[7],
+                        (LocalDateTime) row[8],
+                        List.copyOf(categoryIds)
+                ));
+                start = i;
+            }
+        }
+        return views;
+    }
+
+    /**
+     * Offers leave a shard's transaction when sharding is on: load their
+     * association and category links while the shard connection is still there.
+     */
+    private List<Offer> detachable(List<Offer> offers) {
+        if (shards.isEnabled()) {
+            offers.forEach(o -> {
+                Hibernate.initialize(o.getAssociation());
+                Hibernate.initialize(o.getCategoryLinks());
+            });
+        }
+        return offers;
+    }
+
+    /**
+     * The SQLite dialect does not translate unique violations to a ConstraintViolationException
+     * (Spring then reports a JpaSystemException), so the driver's SQLITE_CONSTRAINT_UNIQUE error
+     * is looked for on the cause chain.
+     */
+    private static boolean violatesPendingDemandIndex(DataAccessException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ConstraintViolationException cve && PENDING_DEMAND_INDEX.equalsIgnoreCase(cve.getConstraintName())) {
+                return true;
+            }
+            if (t instanceof SQLiteException se && se.getResultCode() == SQLiteErrorCode.SQLITE_CONSTRAINT_UNIQUE
+                    && se.getMessage() != null
+                    && (se.getMessage().contains(PENDING_DEMAND_INDEX) || se.getMessage().contains(PENDING_DEMAND_COLUMNS))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Runs a batch transaction again when its set-based updates touched fewer rows than
+     * it checked: some rows changed between the read and the update. The transaction rolls
+     * back and the next attempt reads them again, so they become failed items.
+     *
+     * @return the attempt's result, or null when every attempt raced
+     */
+    private static <T> T retryOnRace(Supplier<T> attempt) {
+        for (int i = 0; i < BATCH_ATTEMPTS; i++) {
+            try {
+                return attempt.get();
+            } catch (BatchRaceException e) {
+                // Read the rows again
+            }
+        }
+        return null;
+    }
+
+    private static final class BatchRaceException extends RuntimeException {
+        private BatchRaceException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static List<Long> batchIds(List<Long> ids, String name) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        for (Long id : ids) {
+            if (id == null || id <= 0) throw new IllegalArgumentException(name + " contains an invalid id: " + id);
+        }
+        return ids.stream().distinct().toList();
+    }
+
+    /**
+     * Groups ids by owning shard (null for the main database), keeping request order.
+     */
+    private Map<Long, List<Long>> byShard(List<Long> ids) {
+        Map<Long, List<Long>> groups = new LinkedHashMap<>();
+        for (Long id : ids) {
+            groups.computeIfAbsent(shards.shardOf(id), k -> new ArrayList<>()).add(id);
+        }
+        return groups;
+    }
+
+    private static List<Offer> mergeOffers(List<List<Offer>> perShard) {
+        if (perShard.size() == 1) return perShard.getFirst();
+
+        List<Offer> merged = new ArrayList<>();
+        perShard.forEach(merged::addAll);
+        return merged;
+    }
+
+    private static Map<Integer, Integer> sumCounts(List<List<Object[]>> perShard) {
+        Map<Integer, Integer> result = new HashMap<>();
+        for (List<Object[]> rows : perShard) {
+            for (Object[] row : rows) {
+                if (row[0] == null) continue;
+                result.merge(((Number) row[0]).intValue(), ((Number) row[1]).intValue(), Integer::sum);
+            }
+        }
         return result;
     }
 }
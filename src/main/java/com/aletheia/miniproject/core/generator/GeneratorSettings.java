@@ -0,0 +1,41 @@
+package com.aletheia.miniproject.core.generator;
+
+/**
+ * Shape of a synthetic dataset. The same settings always produce the same rows.
+ *
+ * @param membersPerAssociation members created in each association
+ * @param maxCategoriesPerOffer each offer gets 1 to this many categories
+ * @param categorySkew          Zipf exponent of category popularity (0 = uniform)
+ * @param meanDemandsPerOffer   mean queue length
+ * @param queueShape            Pareto shape of queue lengths (&gt; 1, lower = longer tail)
+ * @param closedRatio           share of offers already validated
+ * @param chunkSize             offers written per transaction
+ */
+public record GeneratorSettings(
+        long seed,
+        int associations,
+        int membersPerAssociation,
+        int categories,
+        int offers,
+        int maxCategoriesPerOffer,
+        double categorySkew,
+        double meanDemandsPerOffer,
+        double queueShape,
+        double closedRatio,
+        int chunkSize
+) {
+    public GeneratorSettings {
+        if (associations <= 0) throw new IllegalArgumentException("associations must be > 0");
+        if (membersPerAssociation <= 0) throw new IllegalArgumentException("membersPerAssociation must be > 0");
+        if (categories <= 0) throw new IllegalArgumentException("categories must be > 0");
+        if (offers < 0) throw new IllegalArgumentException("offers cannot be negative");
+        if (maxCategoriesPerOffer <= 0 || maxCategoriesPerOffer > categories) {
+            throw new IllegalArgumentException("maxCategoriesPerOffer must be in [1, categories]");
+        }
+        if (categorySkew < 0) throw new IllegalArgumentException("categorySkew cannot be negative");
+        if (meanDemandsPerOffer < 0) throw new IllegalArgumentException("meanDemandsPerOffer cannot be negative");
+        if (queueShape <= 1) throw new IllegalArgumentException("queueShape must be > 1");
+        if (closedRatio < 0 || closedRatio > 1) throw new IllegalArgumentException("closedRatio must be in [0, 1]");
+        if (chunkSize <= 0) throw new IllegalArgumentException("chunkSize must be > 0");
+    }
+}
@@ -0,0 +1,234 @@
+package com.aletheia.miniproject.core.generator;
+
+import com.aletheia.miniproject.core.entities.DemandStatus;
+import com.aletheia.miniproject.core.entities.OfferStatus;
+import com.aletheia.miniproject.sharding.ShardRouter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Writes a synthetic dataset straight into the JPA tables with batched prepared
+ * statements, one transaction per chunk, bypassing the facade. Rows get ids after
+ * the current maximum of each table, so existing data is kept.
+ * Demand queue lengths follow a Pareto distribution (a few very long queues) and
+ * categories a Zipf distribution (a few very popular categories).
+ * Only for the JPA engine on the main database.
+ */
+@Component
+@ConditionalOnProperty(name = "ressourcerie.storage.engine", havingValue = "jpa", matchIfMissing = true)
+public class SyntheticDataGenerator {
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final int MAX_QUEUE = 10_000;
+
+    private final DataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ShardRouter shards;
+
+    public SyntheticDataGenerator(DataSource dataSource, EntityManagerFactory entityManagerFactory, ShardRouter shards) {
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+        this.shards = shards;
+    }
+
+    public record Report(long seed, long associations, long members, long categories, long offers,
+                         long offerCategories, long demands, long durationMillis) {
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement ps, long i) throws SQLException;
+    }
+
+    public Report generate(GeneratorSettings settings) {
+        if (shards.isEnabled()) {
+            throw new IllegalStateException("The generator does not support ressourcerie.sharding.enabled=true");
+        }
+
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        long members = (long) settings.associations() * settings.membersPerAssociation();
+
+        try (Connection c = dataSource.getConnection()) {
+            c.setAutoCommit(false);
+            try {
+                long associationBase = nextId(c, "associations");
+                long memberBase = nextId(c, "members");
+                long categoryBase = nextId(c, "categories");
+                long offerBase = nextId(c, "offers");
+                long demandBase = nextId(c, "demands");
+
+                insertChunked(c, "insert into associations (id, name, representer_id) values (?, ?, null)",
+                        settings.associations(), settings.chunkSize(), (ps, i) -> {
+                            ps.setLong(1, associationBase + i);
+                            ps.setString(2, "Association " + (associationBase + i));
+                        });
+                insertChunked(c, "insert into members (id, name, association_id) values (?, ?, ?)",
+                        members, settings.chunkSize(), (ps, i) -> {
+                            ps.setLong(1, memberBase + i);
+                            ps.setString(2, "Member " + (memberBase + i));
+                            ps.setLong(3, associationBase + i / settings.membersPerAssociation());
+                        });
+                insertChunked(c, "insert into categories (id, name) values (?, ?)",
+                        settings.categories(), settings.chunkSize(), (ps, i) -> {
+                            ps.setLong(1, categoryBase + i);
+                            ps.setString(2, "Category " + (categoryBase + i));
+                        });
+
+                long[] counts = insertOffers(c, settings, random, associationBase, memberBase, members,
+                        categoryBase, offerBase, demandBase);
+
+                Report report = new Report(settings.seed(), settings.associations(), members, settings.categories(),
+                        settings.offers(), counts[0], counts[1], (System.nanoTime() - start) / 1_000_000);
+                log.info("Generated {}", report);
+                return report;
+            } catch (SQLException | RuntimeException e) {
+                c.rollback();
+                throw e;
+            } finally {
+                c.setAutoCommit(true);
+                evictHibernateCaches();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Data generation failed", e);
+        }
+    }
+
+    /**
+     * @return [offer-category links, demands] written
+     */
+    private long[] insertOffers(Connection c, GeneratorSettings settings, SplittableRandom random,
+                                long associationBase, long memberBase, long members,
+                                long categoryBase, long offerBase, long demandBase) throws SQLException {
+        double[] categoryCdf = zipfCdf(settings.categories(), settings.categorySkew());
+        double paretoScale = settings.meanDemandsPerOffer() * (settings.queueShape() - 1) / settings.queueShape();
+        long maxQueue = Math.min(members, MAX_QUEUE);
+
+        long links = 0;
+        long demandId = demandBase;
+
+        try (PreparedStatement offers = c.prepareStatement(
+                "insert into offers (id, association_id, name, description, price_cents, status, created_at, closed_at) values (?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement offerCategories = c.prepareStatement(
+                     "insert into offers_categories (offer_id, category_id) values (?, ?)");
+             PreparedStatement demands = c.prepareStatement(
+                     "insert into demands (id, offer_id, demander_id, created_at, status) values (?, ?, ?, ?, ?)")) {
+
+            Set<Long> picked = new HashSet<>();
+            for (long i = 0; i < settings.offers(); i++) {
+                long offerId = offerBase + i;
+                LocalDateTime createdAt = EPOCH.plusMinutes(i);
+                boolean closed = random.nextDouble() < settings.closedRatio();
+
+                offers.setLong(1, offerId);
+                offers.setLong(2, associationBase + random.nextLong(settings.associations()));
+                offers.setString(3, "Offer " + offerId);
+                offers.setString(4, "Synthetic offer " + offerId);
+                // Log-normal asking price around 20.00
+                offers.setLong(5, Math.max(0, Math.round(Math.exp(Math.log(2000) + random.nextGaussian()))));
+                offers.setString(6, (closed ? OfferStatus.CLOSED : OfferStatus.OPEN).name());
+                offers.setTimestamp(7, Timestamp.valueOf(createdAt));
+                offers.setTimestamp(8, closed ? Timestamp.valueOf(createdAt.plusDays(1)) : null);
+                offers.addBatch();
+
+                picked.clear();
+                int categoryCount = 1 + random.nextInt(settings.maxCategoriesPerOffer());
+                while (picked.size() < categoryCount) {
+                    picked.add(categoryBase + sample(categoryCdf, random));
+                }
+                for (long categoryId : picked) {
+                    offerCategories.setLong(1, offerId);
+                    offerCategories.setLong(2, categoryId);
+                    offerCategories.addBatch();
+                    links++;
+                }
+
+                // Pareto queue length, demanders drawn without repetition
+                long queue = settings.meanDemandsPerOffer() == 0 ? 0
+                        : Math.min(maxQueue, (long) (paretoScale / Math.pow(1 - random.nextDouble(), 1 / settings.queueShape())));
+                picked.clear();
+                while (picked.size() < queue) {
+                    long demanderId = memberBase + random.nextLong(members);
+                    if (!picked.add(demanderId)) continue;
+
+                    DemandStatus status = closed
+                            ? (picked.size() == 1 ? DemandStatus.APPROVED : DemandStatus.REJECTED)
+                            : (random.nextDouble() < 0.1 ? DemandStatus.CANCELLED : DemandStatus.PENDING);
+                    demands.setLong(1, demandId++);
+                    demands.setLong(2, offerId);
+                    demands.setLong(3, demanderId);
+                    demands.setTimestamp(4, Timestamp.valueOf(createdAt.plusSeconds(picked.size())));
+                    demands.setString(5, status.name());
+                    demands.addBatch();
+                }
+
+                if ((i + 1) % settings.chunkSize() == 0 || i + 1 == settings.offers()) {
+                    offers.executeBatch();
+                    offerCategories.executeBatch();
+                    demands.executeBatch();
+                    c.commit();
+                }
+            }
+        }
+        return new long[]{links, demandId - demandBase};
+    }
+
+    private static void insertChunked(Connection c, String sql, long rows, int chunkSize, RowBinder binder) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(sql)) {
+            for (long i = 0; i < rows; i++) {
+                binder.bind(ps, i);
+                ps.addBatch();
+                if ((i + 1) % chunkSize == 0 || i + 1 == rows) {
+                    ps.executeBatch();
+                    c.commit();
+                }
+            }
+        }
+    }
+
+    private static long nextId(Connection c, String table) throws SQLException {
+        try (Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("select coalesce(max(id), 0) + 1 from " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * @return cumulative weights of ranks 0..n-1 with weight 1 / (rank + 1)^skew
+     */
+    private static double[] zipfCdf(int n, double skew) {
+        double[] cdf = new double[n];
+        double total = 0;
+        for (int k = 0; k < n; k++) {
+            total += 1 / Math.pow(k + 1, skew);
+            cdf[k] = total;
+        }
+        return cdf;
+    }
+
+    private static int sample(double[] cdf, SplittableRandom random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble() * cdf[cdf.length - 1]);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Rows were written behind Hibernate's back: drop every cached entity and query result.
+     */
+    private void evictHibernateCaches() {
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+}
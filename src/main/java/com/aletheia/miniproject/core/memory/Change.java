@@ -0,0 +1,187 @@
+package com.aletheia.miniproject.core.memory;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A state change of the in-memory store. Changes are what the journal records:
+ * applying them in order rebuilds the exact same state, ids and timestamps included.
+ */
+sealed interface Change {
+    byte ASSOCIATION_CREATED = 1;
+    byte MEMBER_CREATED = 2;
+    byte CATEGORY_CREATED = 3;
+    byte OFFER_CREATED = 4;
+    byte DEMAND_CREATED = 5;
+    byte DEMAND_CANCELLED = 6;
+    byte OFFER_VALIDATED = 7;
+    byte OFFER_ARCHIVED = 8;
+    byte BATCH = 9;
+
+    void write(DataOutput out) throws IOException;
+
+    record AssociationCreated(long id, String name) implements Change {
+        @Override
+        public void write(DataOutput out) throws IOException {
+            out.writeByte(ASSOCIATION_CREATED);
+            out.writeLong(id);
+            writeString(out, name);
+        }
+    }
+
+    record MemberCreated(long id, String name, long associationId) implements Change {
+        @Override
+        public void write(DataOutput out) throws IOException {
+            out.writeByte(MEMBER_CREATED);
+            out.writeLong(id);
+            writeString(out, name);
+            out.writeLong(associationId);
+        }
+    }
+
+    record CategoryCreated(long id, String name) implements Change {
+        @Override
+        public void write(DataOutput out) throws IOException {
+            out.writeByte(CATEGORY_CREATED);
+            out.writeLong(id);
+            writeString(out, name);
+        }
+    }
+
+    record OfferCreated(long id, long associationId, String name, String description, long priceCents,
+                        LocalDateTime createdAt, long[] categoryIds) implements Change {
+        @Override
+        public void write(DataOutput out) throws IOException {
+            out.writeByte(OFFER_CREATED);
+            out.writeLong(id);
+            out.writeLong(associationId);
+            writeString(out, name);
+            writeString(out, description);
+            out.writeLong(priceCents);
+            writeTime(out, createdAt);
+            writeLongs(out, categoryIds);
+        }
+    }
+
+    record DemandCreated(long id, long offerId, long demanderId, LocalDateTime createdAt) implements Change {
+        @Override
+        public void write(DataOutput out) throws IOException {
+            out.writeByte(DEMAND_CREATED);
+            out.writeLong(id);
+            out.writeLong(offerId);
+            out.writeLong(demanderId);
+            writeTime(out, createdAt);
+        }
+    }
+
+    record DemandCancelled(long demandId) implements Change {
+        @Override
+        public void write(DataOutput out) throws IOException {
+            out.writeByte(DEMAND_CANCELLED);
+            out.writeLong(demandId);
+        }
+    }
+
+    /**
+     * @param approvedDemandId 0 when the offer had no PENDING demand
+     */
+    record OfferValidated(long offerId, long approvedDemandId, long[] rejectedDemandIds,
+                          LocalDateTime closedAt) implements Change {
+        @Override
+        public void write(DataOutput out) throws IOException {
+            out.writeByte(OFFER_VALIDATED);
+            out.writeLong(offerId);
+            out.writeLong(approvedDemandId);
+            writeLongs(out, rejectedDemandIds);
+            writeTime(out, closedAt);
+        }
+    }
+
+    record OfferArchived(long offerId, LocalDateTime closedAt) implements Change {
+        @Override
+        public void write(DataOutput out) throws IOException {
+            out.writeByte(OFFER_ARCHIVED);
+            out.writeLong(offerId);
+            writeTime(out, closedAt);
+        }
+    }
+
+    /**
+     * Several changes journaled as one frame, so a batch call is applied entirely or not at all.
+     */
+    record Batch(List<Change> changes) implements Change {
+        @Override
+        public void write(DataOutput out) throws IOException {
+            out.writeByte(BATCH);
+            out.writeInt(changes.size());
+            for (Change change : changes) change.write(out);
+        }
+    }
+
+    static Change read(DataInput in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case ASSOCIATION_CREATED -> new AssociationCreated(in.readLong(), readString(in));
+            case MEMBER_CREATED -> new MemberCreated(in.readLong(), readString(in), in.readLong());
+            case CATEGORY_CREATED -> new CategoryCreated(in.readLong(), readString(in));
+            case OFFER_CREATED -> new OfferCreated(in.readLong(), in.readLong(), readString(in), readString(in),
+                    in.readLong(), readTime(in), readLongs(in));
+            case DEMAND_CREATED -> new DemandCreated(in.readLong(), in.readLong(), in.readLong(), readTime(in));
+            case DEMAND_CANCELLED -> new DemandCancelled(in.readLong());
+            case OFFER_VALIDATED -> new OfferValidated(in.readLong(), in.readLong(), readLongs(in), readTime(in));
+            case OFFER_ARCHIVED -> new OfferArchived(in.readLong(), readTime(in));
+            case BATCH -> {
+                int size = in.readInt();
+                List<Change> changes = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) changes.add(read(in));
+                yield new Batch(changes);
+            }
+            default -> throw new IOException("Unknown change type: " + type);
+        };
+    }
+
+    static void writeTime(DataOutput out, LocalDateTime time) throws IOException {
+        out.writeBoolean(time != null);
+        if (time != null) {
+            out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(time.getNano());
+        }
+    }
+
+    static LocalDateTime readTime(DataInput in) throws IOException {
+        if (!in.readBoolean()) return null;
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+
+    static void writeLongs(DataOutput out, long[] values) throws IOException {
+        out.writeInt(values.length);
+        for (long v : values) out.writeLong(v);
+    }
+
+    static long[] readLongs(DataInput in) throws IOException {
+        long[] values = new long[in.readInt()];
+        for (int i = 0; i < values.length; i++) values[i] = in.readLong();
+        return values;
+    }
+
+    /**
+     * Length-prefixed UTF-8: unlike writeUTF there is no 64 KB limit (descriptions are @Lob).
+     */
+    static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
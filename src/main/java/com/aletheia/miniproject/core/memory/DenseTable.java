@@ -0,0 +1,46 @@
+package com.aletheia.miniproject.core.memory;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Rows indexed directly by their id. Ids are allocated sequentially from 1,
+ * so the backing array stays dense and a lookup is a single array read.
+ */
+final class DenseTable<T> {
+    private Object[] rows = new Object[64];
+    private long lastId;
+    private int size;
+
+    long nextId() {
+        return lastId + 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(long id) {
+        if (id <= 0 || id >= rows.length) return null;
+        return (T) rows[(int) id];
+    }
+
+    void put(long id, T row) {
+        if (id <= 0 || id > Integer.MAX_VALUE - 8) throw new IllegalStateException("id out of range: " + id);
+        if (id >= rows.length) {
+            rows = Arrays.copyOf(rows, (int) Math.max(id + 1, Math.min((long) rows.length * 2, Integer.MAX_VALUE - 8)));
+        }
+        if (rows[(int) id] == null) size++;
+        rows[(int) id] = row;
+        lastId = Math.max(lastId, id);
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEach(Consumer<? super T> action) {
+        for (int i = 1; i <= lastId; i++) {
+            Object row = rows[i];
+            if (row != null) action.accept((T) row);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.aletheia.miniproject.core.memory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only change log with group commit: appends are queued and a single writer
+ * thread writes everything pending, then fsyncs once for the whole batch.
+ * <p>
+ * Frame layout: int payload length, long sequence, payload, int CRC32C of sequence + payload.
+ * Replay stops at the first incomplete or corrupt frame (a torn write at crash time).
+ * A failed write cuts the file back to the last complete frame and fails the journal:
+ * every later append is rejected, so nothing is ever written after a torn frame.
+ */
+final class Journal implements Closeable {
+    private static final int MAX_BATCH = 1024;
+    private static final Entry SHUTDOWN = new Entry(null, new CompletableFuture<>());
+
+    private final FileChannel channel;
+    private final boolean fsync;
+    private final BlockingQueue<Entry> pending = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile IOException failure;
+    private volatile boolean closed;
+
+    private record Entry(ByteBuffer frame, CompletableFuture<Void> written) {
+    }
+
+    /**
+     * Opens the journal for appending, cutting off whatever follows the last valid frame.
+     */
+    Journal(Path file, long validLength, boolean fsync) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.channel.truncate(validLength);
+        this.channel.position(validLength);
+        this.fsync = fsync;
+        this.writer = Thread.ofPlatform().name("ressourcerie-journal").daemon().start(this::writeLoop);
+    }
+
+    /**
+     * Queues a change. The future completes once the change is on disk (fsynced when enabled).
+     */
+    CompletableFuture<Void> append(long seq, Change change) {
+        if (failure != null) return CompletableFuture.failedFuture(failure);
+        if (closed) return CompletableFuture.failedFuture(new IOException("Journal is closed"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try {
+            change.write(new DataOutputStream(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] payload = bytes.toByteArray();
+
+        ByteBuffer frame = ByteBuffer.allocate(4 + 8 + payload.length + 4);
+        frame.putInt(payload.length).putLong(seq).put(payload);
+        CRC32C crc = new CRC32C();
+        crc.update(frame.array(), 4, 8 + payload.length);
+        frame.putInt((int) crc.getValue()).flip();
+
+        Entry entry = new Entry(frame, new CompletableFuture<>());
+        pending.add(entry);
+        return entry.written();
+    }
+
+    /**
+     * Waits until everything queued so far is on disk.
+     */
+    void flush() {
+        Entry marker = new Entry(null, new CompletableFuture<>());
+        pending.add(marker);
+        marker.written().join();
+    }
+
+    /**
+     * Empties the journal once a snapshot covers all of it. Callers must hold off appends.
+     */
+    void truncate() throws IOException {
+        flush();
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        pending.add(SHUTDOWN);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    private void writeLoop() {
+        List<Entry> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(pending.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            pending.drainTo(batch, MAX_BATCH);
+
+            IOException failed = failure == null ? writeBatch(batch) : failure;
+            for (Entry e : batch) {
+                if (failed == null) {
+                    e.written().complete(null);
+                } else {
+                    e.written().completeExceptionally(failed);
+                }
+            }
+
+            boolean shutdown = batch.contains(SHUTDOWN);
+            batch.clear();
+            if (shutdown) return;
+        }
+    }
+
+    /**
+     * @return null when the batch is on disk, otherwise the failure, after cutting the file back
+     */
+    private IOException writeBatch(List<Entry> batch) {
+        long start = -1;
+        try {
+            start = channel.position();
+            boolean wrote = false;
+            for (Entry e : batch) {
+                if (e.frame() == null) continue;
+                while (e.frame().hasRemaining()) channel.write(e.frame());
+                wrote = true;
+            }
+            if (wrote && fsync) channel.force(false);
+            return null;
+        } catch (IOException ex) {
+            if (start >= 0) {
+                try {
+                    channel.truncate(start);
+                    channel.position(start);
+                } catch (IOException truncation) {
+                    ex.addSuppressed(truncation);
+                }
+            }
+            failure = ex;
+            return ex;
+        }
+    }
+
+    /**
+     * Replays the frames of a journal file whose sequence is greater than afterSeq.
+     *
+     * @return the length of the valid part of the file
+     */
+    static long replay(Path file, long afterSeq, BiConsumer<Long, Change> apply) throws IOException {
+        if (!Files.exists(file)) return 0;
+
+        long valid = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            long size = Files.size(file);
+            while (size - valid >= 16) {
+                int length = in.readInt();
+                if (length < 0 || size - valid < 16L + length) break;
+
+                long seq = in.readLong();
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                int expected = in.readInt();
+
+                CRC32C crc = new CRC32C();
+                crc.update(ByteBuffer.allocate(8).putLong(0, seq).array());
+                crc.update(payload);
+                if ((int) crc.getValue() != expected) break;
+
+                if (seq > afterSeq) {
+                    apply.accept(seq, Change.read(new DataInputStream(new ByteArrayInputStream(payload))));
+                }
+                valid += 16L + length;
+            }
+        }
+        return valid;
+    }
+}
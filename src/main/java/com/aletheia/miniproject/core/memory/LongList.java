@@ -0,0 +1,35 @@
+package com.aletheia.miniproject.core.memory;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive longs.
+ */
+final class LongList {
+    private long[] values;
+    private int size;
+
+    LongList() {
+        this(4);
+    }
+
+    LongList(int capacity) {
+        values = new long[Math.max(1, capacity)];
+    }
+
+    void add(long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    long get(int index) {
+        if (index >= size) throw new IndexOutOfBoundsException(index);
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+}
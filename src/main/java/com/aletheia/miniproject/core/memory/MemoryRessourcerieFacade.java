@@ -0,0 +1,857 @@
+package com.aletheia.miniproject.core.memory;
+
+import com.aletheia.miniproject.core.admission.RateLimiter;
+import com.aletheia.miniproject.core.audit.TransitionJournal;
+import com.aletheia.miniproject.core.entities.*;
+import com.aletheia.miniproject.core.facade.BatchOutcome;
+import com.aletheia.miniproject.core.facade.IRessourcerieFacade;
+import com.aletheia.miniproject.core.facade.RessourcerieConflictException;
+import com.aletheia.miniproject.core.memory.Change.*;
+import com.aletheia.miniproject.core.memory.Rows.*;
+import com.aletheia.miniproject.core.readmodel.OfferReadModel;
+import com.aletheia.miniproject.core.readmodel.OfferView;
+import com.aletheia.miniproject.core.readmodel.OfferViewSource;
+import com.aletheia.miniproject.core.recommend.ApprovalHistory;
+import com.aletheia.miniproject.core.recommend.OfferRecommender;
+import com.aletheia.miniproject.notifications.DemandQueueSource;
+import com.aletheia.miniproject.notifications.DemandRankNotifier;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory storage engine (ressourcerie.storage.engine=memory).
+ * The whole dataset lives in MemoryStore; reads only see changes that are on disk in the
+ * journal, and a periodic snapshot bounds the replay time.
+ * Returned entities are detached copies: mutating them does not change the store.
+ */
+@Service
+@ConditionalOnProperty(name = "ressourcerie.storage.engine", havingValue = "memory")
+public class MemoryRessourcerieFacade implements IRessourcerieFacade, DemandQueueSource, ApprovalHistory, OfferViewSource {
+    private static final String SNAPSHOT_FILE = "snapshot.bin";
+    private static final String JOURNAL_FILE = "journal.bin";
+    private static final Logger log = LoggerFactory.getLogger(MemoryRessourcerieFacade.class);
+
+    private final DemandRankNotifier rankNotifier;
+    private final RateLimiter rateLimiter;
+    private final OfferReadModel readModel;
+    private final OfferRecommender recommender;
+    private final TransitionJournal transitions;
+
+    private final Path directory;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock sequencer = new ReentrantLock();
+    private final ReentrantLock durability = new ReentrantLock();
+    private final Condition durable = durability.newCondition();
+    private final ScheduledExecutorService snapshotter;
+    private final Journal journal;
+    private final MemoryStore store;
+    private long snapshotSeq;
+    private volatile long durableSeq;
+    private volatile Throwable journalFailure;
+
+    public MemoryRessourcerieFacade(
+            DemandRankNotifier rankNotifier,
+            RateLimiter rateLimiter,
+            OfferReadModel readModel,
+            OfferRecommender recommender,
+            TransitionJournal transitions,
+            @Value("${ressourcerie.memory.directory:data/memory}") String directory,
+            @Value("${ressourcerie.memory.fsync:true}") boolean fsync,
+            @Value("${ressourcerie.memory.snapshot-interval-seconds:300}") long snapshotIntervalSeconds
+    ) throws IOException {
+        this.rankNotifier = rankNotifier;
+        this.rateLimiter = rateLimiter;
+        this.readModel = readModel;
+        this.recommender = recommender;
+        this.transitions = transitions;
+        this.directory = Path.of(directory);
+        Files.createDirectories(this.directory);
+
+        Path snapshot = this.directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshot)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot), 1 << 16))) {
+                store = MemoryStore.readSnapshot(in);
+            }
+        } else {
+            store = new MemoryStore();
+        }
+        snapshotSeq = store.lastSeq;
+
+        Path journalFile = this.directory.resolve(JOURNAL_FILE);
+        long validLength = Journal.replay(journalFile, store.lastSeq, store::apply);
+        this.journal = new Journal(journalFile, validLength, fsync);
+        this.durableSeq = store.lastSeq;
+
+        this.snapshotter = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofVirtual().name("ressourcerie-snapshot").factory());
+        if (snapshotIntervalSeconds > 0) {
+            snapshotter.scheduleWithFixedDelay(this::snapshotQuietly,
+                    snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    public Member createMember(String name, Association association) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Member name is null or blank");
+        }
+        if (association == null || association.getId() == null) {
+            throw new IllegalArgumentException("Member association is required");
+        }
+        return addMember(association.getId(), name);
+    }
+
+    @Override
+    public Category createCategory(String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Category name is null or blank");
+        }
+
+        CategoryCreated change = write(() -> new CategoryCreated(store.categories.nextId(), name.trim()));
+        return toCategory(new CategoryRow(change.id(), change.name()));
+    }
+
+    @Override
+    public Association createAssociation(String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Association name is null or blank");
+        }
+
+        AssociationCreated change = write(() -> new AssociationCreated(store.associations.nextId(), name.trim()));
+        return toAssociation(new AssociationRow(change.id(), change.name()));
+    }
+
+    @Override
+    public Member addMember(Long associationId, String memberName) {
+        if (associationId <= 0) {
+            throw new IllegalArgumentException("associationId is invalid: " + associationId);
+        }
+
+        if (memberName == null || memberName.isBlank()) {
+            throw new IllegalArgumentException("Member name is null or blank");
+        }
+
+        MemberCreated change = write(() -> {
+            if (store.associations.get(associationId) == null) {
+                throw new RessourcerieConflictException("Association id not found: " + associationId);
+            }
+            return new MemberCreated(store.members.nextId(), memberName.trim(), associationId);
+        });
+        return read(() -> toMember(store.members.get(change.id())));
+    }
+
+    @Override
+    public Offer createOffer(Long contactId, String name, String description, BigDecimal price, List<Long> categoryIds) {
+        if (contactId <= 0) throw new IllegalArgumentException("contactId must be > 0");
+        if (name == null || name.isBlank()) throw new IllegalArgumentException("Offer name is null or blank");
+        if (price == null) throw new IllegalArgumentException("Offer price is required");
+        if (price.compareTo(BigDecimal.ZERO) < 0) throw new IllegalArgumentException("Offer price cannot be negative");
+        if (price.stripTrailingZeros().scale() > PriceCentsConverter.SCALE) throw new IllegalArgumentException("Offer price cannot have more than 2 decimals");
+        if (price.compareTo(PriceCentsConverter.MAX_PRICE) > 0) throw new IllegalArgumentException("Offer price is too large");
+        if (categoryIds == null || categoryIds.isEmpty()) throw new IllegalArgumentException("categoryIds is required");
+
+        long[] distinctIds = categoryIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .mapToLong(Long::longValue)
+                .toArray();
+        long priceCents = PriceCentsConverter.toCents(price);
+        String trimmedName = name.trim();
+        String trimmedDescription = description.trim();
+
+        OfferCreated change = write(() -> {
+            MemberRow contact = store.members.get(contactId);
+            if (contact == null) {
+                throw new RessourcerieConflictException("Contact member not found: " + contactId);
+            }
+
+            List<Long> missing = new ArrayList<>();
+            for (long id : distinctIds) {
+                if (store.categories.get(id) == null) missing.add(id);
+            }
+            if (!missing.isEmpty()) {
+                throw new RessourcerieConflictException("Some categories not found: " + missing);
+            }
+
+            return new OfferCreated(store.offers.nextId(), contact.associationId(), trimmedName, trimmedDescription,
+                    priceCents, LocalDateTime.now(), distinctIds);
+        }, c -> transitions.offerChanged(c.id(), contactId, null, OfferStatus.OPEN));
+        Offer offer = read(() -> toOffer(store.offers.get(change.id())));
+        readModel.offerChanged(OfferView.of(offer, offer.getAssociation().getName()));
+        return offer;
+    }
+
+    @Override
+    public List<Offer> listOffers() {
+        return read(() -> {
+            List<Offer> result = new ArrayList<>(store.offers.size());
+            store.offers.forEach(o -> result.add(toOffer(o)));
+            return result;
+        });
+    }
+
+    @Override
+    public List<Offer> listOffersByCategory(Long categoryId) {
+        if (categoryId == null || categoryId <= 0) {
+            throw new IllegalArgumentException("categoryId is invalid: " + categoryId);
+        }
+
+        return read(() -> {
+            LongList ids = store.offersOf(categoryId);
+            List<Offer> result = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                result.add(toOffer(store.offers.get(ids.get(i))));
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public List<Offer> listOffersByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Long categoryId) {
+        if (minPrice != null && minPrice.compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("minPrice cannot be negative");
+        }
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("minPrice is greater than maxPrice");
+        }
+        if (categoryId != null && categoryId <= 0) {
+            throw new IllegalArgumentException("categoryId is invalid: " + categoryId);
+        }
+
+        // No stored price is above MAX_PRICE, and a larger bound would not fit in a long
+        if (minPrice != null && minPrice.compareTo(PriceCentsConverter.MAX_PRICE) > 0) return List.of();
+
+        long min = minPrice == null ? 0 : minPrice.movePointRight(PriceCentsConverter.SCALE).setScale(0, RoundingMode.CEILING).longValueExact();
+        long max = maxPrice == null ? Long.MAX_VALUE
+                : maxPrice.movePointRight(PriceCentsConverter.SCALE).setScale(0, RoundingMode.FLOOR)
+                .min(BigDecimal.valueOf(Long.MAX_VALUE)).longValue();
+
+        return read(() -> {
+            List<OfferRow> rows = new ArrayList<>();
+            if (categoryId == null) {
+                store.offers.forEach(o -> {
+                    if (inRange(o, min, max)) rows.add(o);
+                });
+            } else {
+                LongList ids = store.offersOf(categoryId);
+                for (int i = 0; i < ids.size(); i++) {
+                    OfferRow o = store.offers.get(ids.get(i));
+                    if (inRange(o, min, max)) rows.add(o);
+                }
+            }
+            rows.sort(Comparator.comparingLong(OfferRow::priceCents).thenComparingLong(OfferRow::id));
+            return rows.stream().map(this::toOffer).toList();
+        });
+    }
+
+    private static boolean inRange(OfferRow o, long min, long max) {
+        return o.status() == OfferStatus.OPEN && o.priceCents() >= min && o.priceCents() <= max;
+    }
+
+    @Override
+    public List<Offer> recommendOffers(Long memberId, int limit) {
+        if (memberId == null || memberId <= 0) {
+            throw new IllegalArgumentException("memberId is invalid: " + memberId);
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be > 0");
+        }
+
+        return read(() -> {
+            if (store.members.get(memberId) == null) {
+                throw new RessourcerieConflictException("Member not found: " + memberId);
+            }
+
+            List<Offer> result = new ArrayList<>(limit);
+            for (Long id : recommender.recommend(memberId, limit)) {
+                OfferRow o = store.offers.get(id);
+                if (o != null && o.status() == OfferStatus.OPEN) result.add(toOffer(o));
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public Demand createDemand(Long offerId, Long memberId) {
+        if (offerId == null || offerId <= 0) {
+            throw new IllegalArgumentException("offerId is invalid: " + offerId);
+        }
+        if (memberId == null || memberId <= 0) {
+            throw new IllegalArgumentException("demanderId is invalid: " + memberId);
+        }
+
+        rateLimiter.acquireDemand(memberId, offerId);
+
+        DemandCreated change = write(() -> {
+            OfferRow offer = store.offers.get(offerId);
+            if (offer == null) {
+                throw new RessourcerieConflictException("Offer not found: " + offerId);
+            }
+            if (offer.status() != OfferStatus.OPEN) {
+                throw new RessourcerieConflictException("Offer is not OPEN (status=" + offer.status() + ")");
+            }
+            if (store.members.get(memberId) == null) {
+                throw new RessourcerieConflictException("Member not found: " + memberId);
+            }
+
+            LongList queue = store.demandsOf(offerId);
+            for (int i = 0; i < queue.size(); i++) {
+                DemandRow d = store.demands.get(queue.get(i));
+                if (d.demanderId() == memberId && d.status() == DemandStatus.PENDING) {
+                    throw new RessourcerieConflictException("This member already has a PENDING demand for this offer");
+                }
+            }
+
+            return new DemandCreated(store.demands.nextId(), offerId, memberId, LocalDateTime.now());
+        }, c -> transitions.demandChanged(c.id(), offerId, memberId, null, DemandStatus.PENDING));
+
+        rankNotifier.queueChanged(offerId, () -> demandsOf(offerId));
+        return read(() -> toDemand(store.demands.get(change.id())));
+    }
+
+    @Override
+    public void cancelDemand(Long demandId) {
+        if (demandId == null || demandId <= 0) {
+            throw new IllegalArgumentException("demandId is invalid: " + demandId);
+        }
+
+        DemandCancelled change = write(() -> {
+            String error = cancellationError(demandId);
+            if (error != null) throw new RessourcerieConflictException(error);
+            return new DemandCancelled(demandId);
+        }, c -> cancellationRecorded(c.demandId()));
+
+        Long offerId = read(() -> store.demands.get(change.demandId()).offerId());
+        rankNotifier.queueChanged(offerId, () -> demandsOf(offerId));
+    }
+
+    @Override
+    public List<BatchOutcome<Void>> cancelDemands(List<Long> demandIds) {
+        List<Long> ids = batchIds(demandIds, "demandIds");
+
+        Map<Long, String> errors = new HashMap<>();
+        Set<Long> offerIds = new LinkedHashSet<>();
+        write(() -> {
+            List<Change> cancelled = new ArrayList<>();
+            for (Long id : ids) {
+                String error = cancellationError(id);
+                if (error == null) {
+                    cancelled.add(new DemandCancelled(id));
+                } else {
+                    errors.put(id, error);
+                }
+            }
+            return new Batch(cancelled);
+        }, c -> c.changes().forEach(inner -> offerIds.add(cancellationRecorded(((DemandCancelled) inner).demandId()))));
+
+        offerIds.forEach(offerId -> rankNotifier.queueChanged(offerId, () -> demandsOf(offerId)));
+
+        return ids.stream()
+                .map(id -> errors.containsKey(id) ? BatchOutcome.<Void>failed(id, errors.get(id)) : BatchOutcome.<Void>succeeded(id, null))
+                .toList();
+    }
+
+    private String cancellationError(long demandId) {
+        DemandRow demand = store.demands.get(demandId);
+        if (demand == null) return "Demand not found: " + demandId;
+        if (demand.status() != DemandStatus.PENDING) return "Only PENDING demands can be cancelled";
+        return null;
+    }
+
+    /**
+     * @return the offer of the cancelled demand
+     */
+    private Long cancellationRecorded(long demandId) {
+        DemandRow cancelled = store.demands.get(demandId);
+        transitions.demandChanged(demandId, cancelled.offerId(), cancelled.demanderId(), DemandStatus.PENDING, DemandStatus.CANCELLED);
+        return cancelled.offerId();
+    }
+
+    @Override
+    public Long getDemandRank(Long demandId) {
+        if (demandId == null || demandId <= 0) {
+            throw new IllegalArgumentException("demandId is invalid: " + demandId);
+        }
+
+        DemandRow demand = read(() -> store.demands.get(demandId));
+        if (demand == null) {
+            throw new RessourcerieConflictException("Demand not found: " + demandId);
+        }
+        rateLimiter.acquireRankLookup(demand.demanderId());
+
+        return read(() -> {
+            LongList queue = store.demandsOf(demand.offerId());
+            long rank = 0;
+            for (int i = 0; i < queue.size(); i++) {
+                DemandRow d = store.demands.get(queue.get(i));
+                if (d.status() != DemandStatus.PENDING) continue;
+                rank++;
+                if (d.id() == demandId) return rank;
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public Demand validateOffer(Long contactMemberId, Long offerId) {
+        if (contactMemberId == null || contactMemberId <= 0) {
+            throw new IllegalArgumentException("contactMemberId is invalid");
+        }
+        if (offerId == null || offerId <= 0) {
+            throw new IllegalArgumentException("offerId is invalid");
+        }
+
+        OfferValidated change = write(() -> {
+            String error = validationError(contact(contactMemberId), offerId);
+            if (error != null) throw new RessourcerieConflictException(error);
+            return validation(offerId, LocalDateTime.now());
+        }, c -> validationRecorded(contactMemberId, c));
+        return offerValidated(contactMemberId, change);
+    }
+
+    @Override
+    public List<BatchOutcome<Demand>> validateOffers(Long contactMemberId, List<Long> offerIds) {
+        if (contactMemberId == null || contactMemberId <= 0) {
+            throw new IllegalArgumentException("contactMemberId is invalid");
+        }
+        List<Long> ids = batchIds(offerIds, "offerIds");
+
+        Map<Long, String> errors = new HashMap<>();
+        Batch change = write(() -> {
+            MemberRow contact = contact(contactMemberId);
+            LocalDateTime closedAt = LocalDateTime.now();
+            List<Change> validated = new ArrayList<>();
+            for (Long id : ids) {
+                String error = validationError(contact, id);
+                if (error == null) {
+                    validated.add(validation(id, closedAt));
+                } else {
+                    errors.put(id, error);
+                }
+            }
+            return new Batch(validated);
+        }, c -> c.changes().forEach(inner -> validationRecorded(contactMemberId, (OfferValidated) inner)));
+
+        Map<Long, Demand> approved = new HashMap<>();
+        for (Change c : change.changes()) {
+            OfferValidated validated = (OfferValidated) c;
+            approved.put(validated.offerId(), offerValidated(contactMemberId, validated));
+        }
+
+        return ids.stream()
+                .map(id -> errors.containsKey(id) ? BatchOutcome.<Demand>failed(id, errors.get(id)) : BatchOutcome.succeeded(id, approved.get(id)))
+                .toList();
+    }
+
+    private MemberRow contact(long contactMemberId) {
+        MemberRow contact = store.members.get(contactMemberId);
+        if (contact == null) {
+            throw new RessourcerieConflictException("Contact member not found: " + contactMemberId);
+        }
+        return contact;
+    }
+
+    private String validationError(MemberRow contact, long offerId) {
+        OfferRow offer = store.offers.get(offerId);
+        if (offer == null) return "Offer not found: " + offerId;
+        if (offer.status() != OfferStatus.OPEN) return "Offer is not OPEN";
+        if (offer.associationId() != contact.associationId()) return "Contact member is not allowed to validate this offer";
+        return null;
+    }
+
+    /**
+     * The oldest PENDING demand wins, the others lose.
+     */
+    private OfferValidated validation(long offerId, LocalDateTime closedAt) {
+        long approved = 0;
+        LongList rejected = new LongList();
+        LongList queue = store.demandsOf(offerId);
+        for (int i = 0; i < queue.size(); i++) {
+            DemandRow d = store.demands.get(queue.get(i));
+            if (d.status() != DemandStatus.PENDING) continue;
+            if (approved == 0) {
+                approved = d.id();
+            } else {
+                rejected.add(d.id());
+            }
+        }
+
+        long[] rejectedIds = new long[rejected.size()];
+        for (int i = 0; i < rejectedIds.length; i++) rejectedIds[i] = rejected.get(i);
+        return new OfferValidated(offerId, approved, rejectedIds, closedAt);
+    }
+
+    /**
+     * Records the transitions of an applied validation in queue order, as the JPA engine
+     * does: the approved demand, the rejected ones, then the offer.
+     */
+    private void validationRecorded(long contactMemberId, OfferValidated change) {
+        long offerId = change.offerId();
+        if (change.approvedDemandId() != 0) {
+            transitions.demandChanged(change.approvedDemandId(), offerId, store.demands.get(change.approvedDemandId()).demanderId(),
+                    DemandStatus.PENDING, DemandStatus.APPROVED);
+        }
+        for (long id : change.rejectedDemandIds()) {
+            transitions.demandChanged(id, offerId, store.demands.get(id).demanderId(), DemandStatus.PENDING, DemandStatus.REJECTED);
+        }
+        transitions.offerChanged(offerId, contactMemberId, OfferStatus.OPEN, OfferStatus.CLOSED);
+    }
+
+    /**
+     * Notifies listeners once a validation is applied.
+     *
+     * @return the winning demand, or null
+     */
+    private Demand offerValidated(long contactMemberId, OfferValidated change) {
+        long offerId = change.offerId();
+        readModel.offerStatusChanged(offerId, OfferStatus.CLOSED, change.closedAt());
+        if (change.approvedDemandId() != 0) {
+            Long winnerId = read(() -> store.demands.get(change.approvedDemandId()).demanderId());
+            recommender.demandApproved(winnerId, offerId);
+        }
+        rankNotifier.queueChanged(offerId, () -> demandsOf(offerId));
+        return change.approvedDemandId() == 0 ? null : read(() -> toDemand(store.demands.get(change.approvedDemandId())));
+    }
+
+    @Override
+    public void archiveOffer(Long offerId) {
+        if (offerId == null || offerId <= 0) {
+            throw new IllegalArgumentException("offerId is invalid: " + offerId);
+        }
+
+        OfferStatus[] previous = new OfferStatus[1];
+        OfferArchived change = write(() -> {
+            OfferRow offer = store.offers.get(offerId);
+            if (offer == null) {
+                throw new RessourcerieConflictException("Offer not found: " + offerId);
+            }
+            previous[0] = offer.status();
+            return new OfferArchived(offerId, LocalDateTime.now());
+        }, c -> transitions.offerChanged(offerId, 0, previous[0], OfferStatus.ARCHIVED));
+        readModel.offerStatusChanged(offerId, OfferStatus.ARCHIVED, change.closedAt());
+    }
+
+    @Override
+    public Map<Integer, Integer> getOfferCountByAssociation() {
+        return read(() -> {
+            Map<Integer, Integer> result = new HashMap<>();
+            store.offers.forEach(o -> result.merge((int) o.associationId(), 1, Integer::sum));
+            return result;
+        });
+    }
+
+    @Override
+    public Map<Integer, Integer> getOfferWinsByAssociation() {
+        return read(() -> {
+            Map<Integer, Integer> result = new HashMap<>();
+            store.demands.forEach(d -> {
+                if (d.status() != DemandStatus.APPROVED) return;
+                MemberRow m = store.members.get(d.demanderId());
+                if (m != null) result.merge((int) m.associationId(), 1, Integer::sum);
+            });
+            return result;
+        });
+    }
+
+    @Override
+    public Long offerIdOfDemand(Long demandId) {
+        return read(() -> {
+            DemandRow demand = store.demands.get(demandId);
+            if (demand == null) throw new RessourcerieConflictException("Demand not found: " + demandId);
+            return demand.offerId();
+        });
+    }
+
+    @Override
+    public Long associationIdOfOffer(Long offerId) {
+        return read(() -> {
+            OfferRow offer = store.offers.get(offerId);
+            if (offer == null) throw new RessourcerieConflictException("Offer not found: " + offerId);
+            return offer.associationId();
+        });
+    }
+
+    @Override
+    public Long associationIdOfMember(Long memberId) {
+        return read(() -> {
+            MemberRow member = store.members.get(memberId);
+            if (member == null) throw new RessourcerieConflictException("Member not found: " + memberId);
+            return member.associationId();
+        });
+    }
+
+    @Override
+    public List<Demand> demandsOf(Long offerId) {
+        return read(() -> {
+            LongList ids = store.demandsOf(offerId);
+            List<Demand> result = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                result.add(toDemand(store.demands.get(ids.get(i))));
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public void forEachApproval(ApprovalConsumer consumer) {
+        read(() -> {
+            store.demands.forEach(d -> {
+                if (d.status() == DemandStatus.APPROVED) {
+                    consumer.accept(d.demanderId(), store.offers.get(d.offerId()).categoryIds());
+                }
+            });
+            return null;
+        });
+    }
+
+    @Override
+    public List<OfferView> offerViews() {
+        return read(() -> {
+            List<OfferView> result = new ArrayList<>(store.offers.size());
+            store.offers.forEach(o -> result.add(OfferView.of(toOffer(o), store.associations.get(o.associationId()).name())));
+            return result;
+        });
+    }
+
+    /**
+     * Writes a snapshot of the whole store and empties the journal.
+     * Writers are blocked while the snapshot is written; readers are not, since
+     * only writers change the store.
+     */
+    public void snapshot() throws IOException {
+        sequencer.lock();
+        try {
+            if (store.lastSeq == snapshotSeq) return;
+            // The snapshot must not hold a change whose journal write could still fail
+            journal.flush();
+            if (journalFailure != null) throw new IOException("Journal write failed", journalFailure);
+
+            Path target = directory.resolve(SNAPSHOT_FILE);
+            Path tmp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+            try (FileOutputStream file = new FileOutputStream(tmp.toFile());
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+                store.writeSnapshot(out);
+                out.flush();
+                file.getFD().sync();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            // A crash before this truncate is harmless: replay skips the frames the snapshot covers
+            journal.truncate();
+            snapshotSeq = store.lastSeq;
+        } finally {
+            sequencer.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        snapshotter.shutdownNow();
+        try {
+            snapshot();
+        } finally {
+            closeJournal();
+        }
+    }
+
+    /**
+     * Stops the engine the way a crash would: no snapshot, the journal alone holds the changes.
+     */
+    void closeWithoutSnapshot() throws IOException {
+        snapshotter.shutdownNow();
+        closeJournal();
+    }
+
+    private void closeJournal() throws IOException {
+        sequencer.lock();
+        try {
+            journal.close();
+        } finally {
+            sequencer.unlock();
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            // Keep the schedule alive: the journal still holds every change
+            log.warn("Memory store snapshot failed", e);
+        }
+    }
+
+    private static List<Long> batchIds(List<Long> ids, String name) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        for (Long id : ids) {
+            if (id == null || id <= 0) throw new IllegalArgumentException(name + " contains an invalid id: " + id);
+        }
+        return ids.stream().distinct().toList();
+    }
+
+    private interface StoreRead<T> {
+        T get();
+    }
+
+    /**
+     * Runs a read once every change applied to the store is on disk. The read lock keeps
+     * writers from applying more meanwhile, so the wait is at most one journal batch.
+     */
+    private <T> T read(StoreRead<T> action) {
+        lock.readLock().lock();
+        try {
+            awaitDurable(store.lastSeq);
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void awaitDurable(long seq) {
+        if (durableSeq >= seq) return;
+        durability.lock();
+        try {
+            while (durableSeq < seq) {
+                if (journalFailure != null) throw new IllegalStateException("Journal write failed", journalFailure);
+                durable.awaitUninterruptibly();
+            }
+        } finally {
+            durability.unlock();
+        }
+    }
+
+    /**
+     * Called by the journal writer thread, in sequence order, once a change is on disk or lost.
+     */
+    private void journaled(long seq, Throwable failure) {
+        durability.lock();
+        try {
+            if (failure == null) {
+                durableSeq = Math.max(durableSeq, seq);
+            } else if (journalFailure == null) {
+                journalFailure = failure;
+            }
+            durable.signalAll();
+        } finally {
+            durability.unlock();
+        }
+    }
+
+    private <C extends Change> C write(StoreRead<C> validate) {
+        return write(validate, change -> {
+        });
+    }
+
+    /**
+     * Validates a change, queues it on the journal and applies it to the store under the
+     * sequencer, then waits outside it until the change is on disk: concurrent writers share
+     * the journal's fsync. The next writer validates against the store, so it sees the change
+     * at once, but readers wait until it is durable (see read): they never see a change that
+     * a crash or a failed journal write could lose. Once a journal write fails, the store holds
+     * changes the disk does not, so every later read and write fails.
+     * The applied callback runs under the sequencer, so the transitions it records follow the
+     * journal order.
+     */
+    private <C extends Change> C write(StoreRead<C> validate, Consumer<C> applied) {
+        C change;
+        CompletableFuture<Void> written;
+        sequencer.lock();
+        try {
+            if (journalFailure != null) throw new IllegalStateException("Journal write failed", journalFailure);
+            change = validate.get();
+            long seq = store.lastSeq + 1;
+            written = journal.append(seq, change).whenComplete((v, e) -> journaled(seq, e));
+            if (written.isCompletedExceptionally()) {
+                // Rejected up front (failed or closed journal): nothing to take back from the store
+                throw new IllegalStateException("Journal write failed", written.exceptionNow());
+            }
+
+            lock.writeLock().lock();
+            try {
+                store.apply(seq, change);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            applied.accept(change);
+        } finally {
+            sequencer.unlock();
+        }
+
+        try {
+            written.join();
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Journal write failed", e);
+        }
+        return change;
+    }
+
+    private Association toAssociation(AssociationRow row) {
+        Association association = new Association(row.name());
+        association.setId(row.id());
+        return association;
+    }
+
+    private Member toMember(MemberRow row) {
+        Member member = new Member(row.name(), toAssociation(store.associations.get(row.associationId())));
+        member.setId(row.id());
+        return member;
+    }
+
+    private Category toCategory(CategoryRow row) {
+        Category category = new Category(row.name());
+        category.setId(row.id());
+        return category;
+    }
+
+    private Offer toOffer(OfferRow row) {
+        Offer offer = new Offer(
+                toAssociation(store.associations.get(row.associationId())),
+                row.name(),
+                row.description(),
+                BigDecimal.valueOf(row.priceCents(), PriceCentsConverter.SCALE),
+                row.createdAt(),
+                row.status()
+        );
+        offer.setId(row.id());
+        offer.setClosedAt(row.closedAt());
+        for (long categoryId : row.categoryIds()) {
+            offer.addCategory(toCategory(store.categories.get(categoryId)));
+        }
+        return offer;
+    }
+
+    private Demand toDemand(DemandRow row) {
+        Demand demand = new Demand(
+                toOffer(store.offers.get(row.offerId())),
+                toMember(store.members.get(row.demanderId())),
+                row.createdAt(),
+                row.status()
+        );
+        demand.setId(row.id());
+        return demand;
+    }
+}
@@ -0,0 +1,191 @@
+package com.aletheia.miniproject.core.memory;
+
+import com.aletheia.miniproject.core.entities.DemandStatus;
+import com.aletheia.miniproject.core.entities.OfferStatus;
+import com.aletheia.miniproject.core.memory.Change.*;
+import com.aletheia.miniproject.core.memory.Rows.*;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+
+/**
+ * State of the in-memory engine: id-indexed tables plus the two indexes the facade
+ * needs (demands of an offer in creation order, offers of a category).
+ * Not thread-safe: MemoryRessourcerieFacade guards it with a read/write lock.
+ */
+final class MemoryStore {
+    private static final int SNAPSHOT_MAGIC = 0x52455353; // "RESS"
+    private static final int SNAPSHOT_VERSION = 1;
+
+    final DenseTable<AssociationRow> associations = new DenseTable<>();
+    final DenseTable<MemberRow> members = new DenseTable<>();
+    final DenseTable<CategoryRow> categories = new DenseTable<>();
+    final DenseTable<OfferRow> offers = new DenseTable<>();
+    final DenseTable<DemandRow> demands = new DenseTable<>();
+
+    private final DenseTable<LongList> demandsByOffer = new DenseTable<>();
+    private final DenseTable<LongList> offersByCategory = new DenseTable<>();
+
+    /**
+     * Sequence number of the last change applied.
+     */
+    long lastSeq;
+
+    LongList demandsOf(long offerId) {
+        LongList ids = demandsByOffer.get(offerId);
+        return ids == null ? new LongList(1) : ids;
+    }
+
+    LongList offersOf(long categoryId) {
+        LongList ids = offersByCategory.get(categoryId);
+        return ids == null ? new LongList(1) : ids;
+    }
+
+    void apply(long seq, Change change) {
+        switch (change) {
+            case AssociationCreated c -> associations.put(c.id(), new AssociationRow(c.id(), c.name()));
+            case MemberCreated c -> members.put(c.id(), new MemberRow(c.id(), c.name(), c.associationId()));
+            case CategoryCreated c -> categories.put(c.id(), new CategoryRow(c.id(), c.name()));
+            case OfferCreated c -> putOffer(new OfferRow(c.id(), c.associationId(), c.name(), c.description(),
+                    c.priceCents(), OfferStatus.OPEN, c.createdAt(), null, c.categoryIds()));
+            case DemandCreated c -> putDemand(new DemandRow(c.id(), c.offerId(), c.demanderId(), c.createdAt(),
+                    DemandStatus.PENDING));
+            case DemandCancelled c -> setDemandStatus(c.demandId(), DemandStatus.CANCELLED);
+            case OfferValidated c -> {
+                if (c.approvedDemandId() != 0) setDemandStatus(c.approvedDemandId(), DemandStatus.APPROVED);
+                for (long id : c.rejectedDemandIds()) setDemandStatus(id, DemandStatus.REJECTED);
+                setOfferStatus(c.offerId(), OfferStatus.CLOSED, c.closedAt());
+            }
+            case OfferArchived c -> setOfferStatus(c.offerId(), OfferStatus.ARCHIVED, c.closedAt());
+            case Batch c -> c.changes().forEach(inner -> apply(seq, inner));
+        }
+        lastSeq = seq;
+    }
+
+    private void setOfferStatus(long offerId, OfferStatus status, LocalDateTime closedAt) {
+        offers.put(offerId, offers.get(offerId).withStatus(status, closedAt));
+    }
+
+    private void setDemandStatus(long demandId, DemandStatus status) {
+        demands.put(demandId, demands.get(demandId).withStatus(status));
+    }
+
+    private void putOffer(OfferRow offer) {
+        offers.put(offer.id(), offer);
+        for (long categoryId : offer.categoryIds()) {
+            LongList ids = offersByCategory.get(categoryId);
+            if (ids == null) {
+                ids = new LongList();
+                offersByCategory.put(categoryId, ids);
+            }
+            ids.add(offer.id());
+        }
+    }
+
+    private void putDemand(DemandRow demand) {
+        demands.put(demand.id(), demand);
+        LongList ids = demandsByOffer.get(demand.offerId());
+        if (ids == null) {
+            ids = new LongList();
+            demandsByOffer.put(demand.offerId(), ids);
+        }
+        ids.add(demand.id());
+    }
+
+    /**
+     * @throws UncheckedIOException if writing a row fails
+     */
+    void writeSnapshot(DataOutput out) throws IOException {
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeInt(SNAPSHOT_VERSION);
+        out.writeLong(lastSeq);
+
+        out.writeInt(associations.size());
+        associations.forEach(r -> unchecked(() -> {
+            out.writeLong(r.id());
+            Change.writeString(out, r.name());
+        }));
+
+        out.writeInt(members.size());
+        members.forEach(r -> unchecked(() -> {
+            out.writeLong(r.id());
+            Change.writeString(out, r.name());
+            out.writeLong(r.associationId());
+        }));
+
+        out.writeInt(categories.size());
+        categories.forEach(r -> unchecked(() -> {
+            out.writeLong(r.id());
+            Change.writeString(out, r.name());
+        }));
+
+        out.writeInt(offers.size());
+        offers.forEach(r -> unchecked(() -> {
+            out.writeLong(r.id());
+            out.writeLong(r.associationId());
+            Change.writeString(out, r.name());
+            Change.writeString(out, r.description());
+            out.writeLong(r.priceCents());
+            out.writeByte(r.status().ordinal());
+            Change.writeTime(out, r.createdAt());
+            Change.writeTime(out, r.closedAt());
+            Change.writeLongs(out, r.categoryIds());
+        }));
+
+        out.writeInt(demands.size());
+        demands.forEach(r -> unchecked(() -> {
+            out.writeLong(r.id());
+            out.writeLong(r.offerId());
+            out.writeLong(r.demanderId());
+            Change.writeTime(out, r.createdAt());
+            out.writeByte(r.status().ordinal());
+        }));
+    }
+
+    static MemoryStore readSnapshot(DataInput in) throws IOException {
+        if (in.readInt() != SNAPSHOT_MAGIC) throw new IOException("Not a snapshot file");
+        int version = in.readInt();
+        if (version != SNAPSHOT_VERSION) throw new IOException("Unsupported snapshot version: " + version);
+
+        MemoryStore store = new MemoryStore();
+        store.lastSeq = in.readLong();
+
+        for (int n = in.readInt(); n > 0; n--) {
+            long id = in.readLong();
+            store.associations.put(id, new AssociationRow(id, Change.readString(in)));
+        }
+        for (int n = in.readInt(); n > 0; n--) {
+            long id = in.readLong();
+            store.members.put(id, new MemberRow(id, Change.readString(in), in.readLong()));
+        }
+        for (int n = in.readInt(); n > 0; n--) {
+            long id = in.readLong();
+            store.categories.put(id, new CategoryRow(id, Change.readString(in)));
+        }
+        for (int n = in.readInt(); n > 0; n--) {
+            store.putOffer(new OfferRow(in.readLong(), in.readLong(), Change.readString(in), Change.readString(in),
+                    in.readLong(), OfferStatus.values()[in.readByte()], Change.readTime(in), Change.readTime(in),
+                    Change.readLongs(in)));
+        }
+        for (int n = in.readInt(); n > 0; n--) {
+            store.putDemand(new DemandRow(in.readLong(), in.readLong(), in.readLong(), Change.readTime(in),
+                    DemandStatus.values()[in.readByte()]));
+        }
+        return store;
+    }
+
+    private interface IOAction {
+        void run() throws IOException;
+    }
+
+    private static void unchecked(IOAction action) {
+        try {
+            action.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
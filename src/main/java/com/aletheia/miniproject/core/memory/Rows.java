@@ -0,0 +1,36 @@
+package com.aletheia.miniproject.core.memory;
+
+import com.aletheia.miniproject.core.entities.DemandStatus;
+import com.aletheia.miniproject.core.entities.OfferStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable rows of the in-memory store. Updates replace the row.
+ */
+final class Rows {
+    private Rows() {
+    }
+
+    record AssociationRow(long id, String name) {
+    }
+
+    record MemberRow(long id, String name, long associationId) {
+    }
+
+    record CategoryRow(long id, String name) {
+    }
+
+    record OfferRow(long id, long associationId, String name, String description, long priceCents,
+                    OfferStatus status, LocalDateTime createdAt, LocalDateTime closedAt, long[] categoryIds) {
+        OfferRow withStatus(OfferStatus newStatus, LocalDateTime newClosedAt) {
+            return new OfferRow(id, associationId, name, description, priceCents, newStatus, createdAt, newClosedAt, categoryIds);
+        }
+    }
+
+    record DemandRow(long id, long offerId, long demanderId, LocalDateTime createdAt, DemandStatus status) {
+        DemandRow withStatus(DemandStatus newStatus) {
+            return new DemandRow(id, offerId, demanderId, createdAt, newStatus);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.aletheia.miniproject.core.readmodel;
+
+import com.aletheia.miniproject.core.entities.OfferStatus;
+import com.aletheia.miniproject.core.entities.PriceCentsConverter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Query side for offer browsing: one flat OfferView per offer, kept in memory.
+ * The facade write paths push every offer change here. A full rebuild from the
+ * storage engine runs at startup and on demand; setting max-staleness-seconds also runs
+ * it periodically, which bounds how long a change made outside this instance's facade
+ * can stay invisible.
+ * Every change is published as an OfferViewChanged event, every rebuild as OfferReadModelRebuilt.
+ */
+@Component
+public class OfferReadModel {
+    private static final Logger log = LoggerFactory.getLogger(OfferReadModel.class);
+
+    private final ObjectProvider<OfferViewSource> source;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate readOnlyTx;
+    private final Duration maxStaleness;
+    private final ScheduledExecutorService rebuilder;
+
+    private volatile State state = new State();
+    private volatile Instant rebuiltAt;
+
+    // Changes applied while a rebuild is loading, replayed on the rebuilt state
+    private List<Consumer<State>> duringRebuild;
+
+    public OfferReadModel(
+            ObjectProvider<OfferViewSource> source,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher events,
+            @Value("${ressourcerie.read-model.max-staleness-seconds:0}") long maxStalenessSeconds
+    ) {
+        this.source = source;
+        this.events = events;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.maxStaleness = Duration.ofSeconds(maxStalenessSeconds);
+        this.rebuilder = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofVirtual().name("ressourcerie-read-model").factory());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        rebuild();
+        if (!maxStaleness.isZero()) {
+            long period = maxStaleness.toMillis();
+            rebuilder.scheduleWithFixedDelay(this::rebuildQuietly, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        rebuilder.shutdownNow();
+    }
+
+    public void offerChanged(OfferView offer) {
+        apply(s -> s.put(offer));
+        events.publishEvent(new OfferViewChanged(offer));
+    }
+
+    public void offerStatusChanged(Long offerId, OfferStatus status, LocalDateTime closedAt) {
+        apply(s -> {
+            OfferView current = s.byId.get(offerId);
+            if (current != null) s.put(current.withStatus(status, closedAt));
+        });
+        findOffer(offerId).ifPresent(offer -> events.publishEvent(new OfferViewChanged(offer)));
+    }
+
+    /**
+     * Reloads every offer from the storage engine and swaps the new state in.
+     *
+     * @return the number of offers in the rebuilt model
+     */
+    public int rebuild() {
+        synchronized (this) {
+            duringRebuild = new ArrayList<>();
+        }
+
+        List<OfferView> offers;
+        try {
+            offers = readOnlyTx.execute(status -> source.getObject().offerViews());
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                duringRebuild = null;
+            }
+            throw e;
+        }
+
+        State rebuilt = new State();
+        offers.forEach(rebuilt::put);
+
+        synchronized (this) {
+            duringRebuild.forEach(change -> change.accept(rebuilt));
+            duringRebuild = null;
+            state = rebuilt;
+            rebuiltAt = Instant.now();
+        }
+        events.publishEvent(new OfferReadModelRebuilt(rebuilt.byId.size()));
+        return rebuilt.byId.size();
+    }
+
+    public Instant getRebuiltAt() {
+        return rebuiltAt;
+    }
+
+    public Duration getMaxStaleness() {
+        return maxStaleness;
+    }
+
+    public int size() {
+        return state.byId.size();
+    }
+
+    public Optional<OfferView> findOffer(Long offerId) {
+        return Optional.ofNullable(state.byId.get(offerId));
+    }
+
+    public List<OfferView> listOffers() {
+        return sortedById(state.byId.values());
+    }
+
+    public List<OfferView> listOffersByCategory(Long categoryId) {
+        if (categoryId == null || categoryId <= 0) {
+            throw new IllegalArgumentException("categoryId is invalid: " + categoryId);
+        }
+
+        State s = state;
+        Set<Long> ids = s.idsByCategory.getOrDefault(categoryId, Set.of());
+        List<OfferView> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            OfferView offer = s.byId.get(id);
+            if (offer != null) result.add(offer);
+        }
+        return sortedById(result);
+    }
+
+    /**
+     * Same contract as IRessourcerieFacade.listOffersByPriceRange.
+     */
+    public List<OfferView> listOffersByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Long categoryId) {
+        if (minPrice != null && minPrice.compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("minPrice cannot be negative");
+        }
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("minPrice is greater than maxPrice");
+        }
+
+        // Round bounds to whole cents, as the storage engines do
+        BigDecimal min = minPrice == null ? null : minPrice.setScale(PriceCentsConverter.SCALE, RoundingMode.CEILING);
+        BigDecimal max = maxPrice == null ? null : maxPrice.setScale(PriceCentsConverter.SCALE, RoundingMode.FLOOR);
+
+        Collection<OfferView> candidates = categoryId == null ? state.byId.values() : listOffersByCategory(categoryId);
+        return candidates.stream()
+                .filter(o -> o.status() == OfferStatus.OPEN)
+                .filter(o -> min == null || o.price().compareTo(min) >= 0)
+                .filter(o -> max == null || o.price().compareTo(max) <= 0)
+                .sorted(Comparator.comparing(OfferView::price).thenComparing(OfferView::id))
+                .toList();
+    }
+
+    private void apply(Consumer<State> change) {
+        synchronized (this) {
+            change.accept(state);
+            if (duringRebuild != null) duringRebuild.add(change);
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Offer read model rebuild failed", e);
+        }
+    }
+
+    private static List<OfferView> sortedById(Collection<OfferView> offers) {
+        List<OfferView> result = new ArrayList<>(offers);
+        result.sort(Comparator.comparing(OfferView::id));
+        return result;
+    }
+
+    private static final class State {
+        private final Map<Long, OfferView> byId = new ConcurrentHashMap<>();
+        private final Map<Long, Set<Long>> idsByCategory = new ConcurrentHashMap<>();
+
+        private void put(OfferView offer) {
+            byId.put(offer.id(), offer);
+            for (Long categoryId : offer.categoryIds()) {
+                idsByCategory.computeIfAbsent(categoryId, k -> ConcurrentHashMap.newKeySet()).add(offer.id());
+            }
+        }
+    }
+}
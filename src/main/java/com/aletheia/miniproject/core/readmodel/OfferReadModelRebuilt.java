@@ -0,0 +1,7 @@
+package com.aletheia.miniproject.core.readmodel;
+
+/**
+ * Published by the OfferReadModel after a full rebuild: any view may have changed.
+ */
+public record OfferReadModelRebuilt(int size) {
+}
@@ -0,0 +1,51 @@
+package com.aletheia.miniproject.core.readmodel;
+
+import com.aletheia.miniproject.core.entities.Offer;
+import com.aletheia.miniproject.core.entities.OfferStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Denormalized, immutable row of the offer read model.
+ */
+public record OfferView(
+        Long id,
+        Long associationId,
+        String associationName,
+        String name,
+        String description,
+        BigDecimal price,
+        OfferStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime closedAt,
+        List<Long> categoryIds
+) {
+    /**
+     * Reads the category ids from the join keys; the association name is passed in
+     * so that building a view never initializes the association.
+     */
+    public static OfferView of(Offer offer, String associationName) {
+        return new OfferView(
+                offer.getId(),
+                offer.getAssociation().getId(),
+                associationName,
+                offer.getName(),
+                offer.getDescription(),
+                offer.getPrice(),
+                offer.getStatus(),
+                offer.getCreatedAt(),
+                offer.getClosedAt(),
+                offer.getCategoryLinks().stream()
+                        .map(oc -> oc.getId().getCategoryId())
+                        .sorted()
+                        .toList()
+        );
+    }
+
+    public OfferView withStatus(OfferStatus newStatus, LocalDateTime newClosedAt) {
+        return new OfferView(id, associationId, associationName, name, description, price,
+                newStatus, createdAt, newClosedAt, categoryIds);
+    }
+}
@@ -0,0 +1,7 @@
+package com.aletheia.miniproject.core.readmodel;
+
+/**
+ * Published by the OfferReadModel after an offer was added or changed, with its new view.
+ */
+public record OfferViewChanged(OfferView offer) {
+}
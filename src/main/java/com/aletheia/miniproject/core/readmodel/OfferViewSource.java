@@ -0,0 +1,14 @@
+package com.aletheia.miniproject.core.readmodel;
+
+import java.util.List;
+
+/**
+ * Read access the OfferReadModel needs from the active storage engine.
+ */
+public interface OfferViewSource {
+
+    /**
+     * @return one view per offer, loaded in a single pass (no per-offer query)
+     */
+    List<OfferView> offerViews();
+}
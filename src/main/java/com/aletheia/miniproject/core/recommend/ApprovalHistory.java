@@ -0,0 +1,17 @@
+package com.aletheia.miniproject.core.recommend;
+
+/**
+ * Read access the OfferRecommender needs from the active storage engine.
+ */
+public interface ApprovalHistory {
+
+    /**
+     * Calls the consumer once per APPROVED demand, oldest first.
+     */
+    void forEachApproval(ApprovalConsumer consumer);
+
+    @FunctionalInterface
+    interface ApprovalConsumer {
+        void accept(long memberId, long[] categoryIds);
+    }
+}
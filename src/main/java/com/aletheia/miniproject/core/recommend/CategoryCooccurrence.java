@@ -0,0 +1,119 @@
+package com.aletheia.miniproject.core.recommend;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Symmetric category x category counts of approved demands, stored row-major in one int[].
+ * Two categories co-occur when one member won offers in both; the diagonal counts how
+ * many approved offers each category had. Categories get a dense index on first use.
+ * Not thread-safe: OfferRecommender synchronizes on it.
+ */
+final class CategoryCooccurrence {
+    private static final int[] NONE = new int[0];
+
+    private final Map<Long, Integer> indexOf = new HashMap<>();
+    private long[] categoryIds = new long[16];
+    private int size;
+    private int capacity = 16;
+    private int[] counts = new int[capacity * capacity];
+
+    // Sorted dense category indices of the offers each member won
+    private final Map<Long, int[]> profiles = new HashMap<>();
+
+    void approved(long memberId, long[] offerCategoryIds) {
+        int[] offer = indicesOf(offerCategoryIds);
+        int[] profile = profiles.getOrDefault(memberId, NONE);
+
+        for (int i = 0; i < offer.length; i++) {
+            int c = offer[i];
+            for (int j = i; j < offer.length; j++) {
+                increment(c, offer[j]);
+            }
+            for (int p : profile) {
+                if (Arrays.binarySearch(offer, p) < 0) increment(c, p);
+            }
+        }
+        profiles.put(memberId, union(profile, offer));
+    }
+
+    /**
+     * Categories by decreasing score: the summed co-occurrence rows of the member's
+     * categories, or plain popularity for a member without any approved demand.
+     *
+     * @return category ids with a positive score, best first
+     */
+    long[] rankedCategories(long memberId) {
+        int[] profile = profiles.get(memberId);
+        long[] scores = new long[size];
+        if (profile == null) {
+            for (int i = 0; i < size; i++) scores[i] = counts[i * capacity + i];
+        } else {
+            for (int p : profile) {
+                int row = p * capacity;
+                for (int j = 0; j < size; j++) scores[j] += counts[row + j];
+            }
+        }
+
+        int positive = 0;
+        long[] packed = new long[size];
+        for (int i = 0; i < size; i++) {
+            // score in the high bits, index in the low 32: one primitive sort, no boxing
+            if (scores[i] > 0) packed[positive++] = (scores[i] << 32) | i;
+        }
+        Arrays.sort(packed, 0, positive);
+
+        long[] ranked = new long[positive];
+        for (int i = 0; i < positive; i++) {
+            ranked[i] = categoryIds[(int) packed[positive - 1 - i]];
+        }
+        return ranked;
+    }
+
+    private void increment(int a, int b) {
+        counts[a * capacity + b]++;
+        if (a != b) counts[b * capacity + a]++;
+    }
+
+    private int[] indicesOf(long[] ids) {
+        int[] indices = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            indices[i] = indexOf.computeIfAbsent(ids[i], this::register);
+        }
+        return Arrays.stream(indices).sorted().distinct().toArray();
+    }
+
+    private int register(long categoryId) {
+        if (size == capacity) grow();
+        categoryIds[size] = categoryId;
+        return size++;
+    }
+
+    private void grow() {
+        int newCapacity = capacity * 2;
+        int[] newCounts = new int[newCapacity * newCapacity];
+        for (int row = 0; row < size; row++) {
+            System.arraycopy(counts, row * capacity, newCounts, row * newCapacity, size);
+        }
+        counts = newCounts;
+        categoryIds = Arrays.copyOf(categoryIds, newCapacity);
+        capacity = newCapacity;
+    }
+
+    private static int[] union(int[] a, int[] b) {
+        int[] merged = new int[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length || j < b.length) {
+            int next;
+            if (j == b.length || (i < a.length && a[i] < b[j])) next = a[i++];
+            else if (i == a.length || b[j] < a[i]) next = b[j++];
+            else {
+                next = a[i++];
+                j++;
+            }
+            merged[n++] = next;
+        }
+        return Arrays.copyOf(merged, n);
+    }
+}
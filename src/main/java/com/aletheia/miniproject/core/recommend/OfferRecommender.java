@@ -0,0 +1,81 @@
+package com.aletheia.miniproject.core.recommend;
+
+import com.aletheia.miniproject.core.entities.OfferStatus;
+import com.aletheia.miniproject.core.readmodel.OfferReadModel;
+import com.aletheia.miniproject.core.readmodel.OfferView;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Recommends OPEN offers from the category co-occurrence of approved demands.
+ * The matrix is loaded from the storage engine at startup and then kept up to date
+ * by the facade on every approval, so a recommendation never reads the demands;
+ * candidate offers come from the OfferReadModel.
+ */
+@Component
+public class OfferRecommender {
+    private final ObjectProvider<ApprovalHistory> history;
+    private final OfferReadModel readModel;
+
+    private CategoryCooccurrence matrix = new CategoryCooccurrence();
+
+    public OfferRecommender(ObjectProvider<ApprovalHistory> history, OfferReadModel readModel) {
+        this.history = history;
+        this.readModel = readModel;
+    }
+
+    /**
+     * Reloads the matrix from every approved demand.
+     *
+     * @return the number of approvals read
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized int rebuild() {
+        CategoryCooccurrence rebuilt = new CategoryCooccurrence();
+        int[] approvals = {0};
+        history.getObject().forEachApproval((memberId, categoryIds) -> {
+            rebuilt.approved(memberId, categoryIds);
+            approvals[0]++;
+        });
+        matrix = rebuilt;
+        return approvals[0];
+    }
+
+    /**
+     * Records that a member won an offer. Offers unknown to the read model are ignored.
+     */
+    public void demandApproved(Long memberId, Long offerId) {
+        readModel.findOffer(offerId).ifPresent(offer -> {
+            long[] categoryIds = offer.categoryIds().stream().mapToLong(Long::longValue).toArray();
+            synchronized (this) {
+                matrix.approved(memberId, categoryIds);
+            }
+        });
+    }
+
+    /**
+     * @return up to limit OPEN offer ids, best category first, newest offer first within a category
+     */
+    public List<Long> recommend(Long memberId, int limit) {
+        long[] categories;
+        synchronized (this) {
+            categories = matrix.rankedCategories(memberId);
+        }
+
+        Set<Long> ids = new LinkedHashSet<>();
+        for (long categoryId : categories) {
+            List<OfferView> offers = readModel.listOffersByCategory(categoryId);
+            for (OfferView offer : offers.reversed()) {
+                if (offer.status() == OfferStatus.OPEN) ids.add(offer.id());
+                if (ids.size() == limit) return List.copyOf(ids);
+            }
+        }
+        return List.copyOf(ids);
+    }
+}
@@ -0,0 +1,278 @@
+package com.aletheia.miniproject.core.warmup;
+
+import com.aletheia.miniproject.core.cache.MemberAssociationCache;
+import com.aletheia.miniproject.core.entities.Category;
+import com.aletheia.miniproject.core.entities.Offer;
+import com.aletheia.miniproject.core.facade.IRessourcerieFacade;
+import com.aletheia.miniproject.notifications.DemandQueueSource;
+import com.aletheia.miniproject.repos.*;
+import com.aletheia.miniproject.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Warms the application up before it reports readiness: Spring Boot only moves to
+ * ReadinessState.ACCEPTING_TRAFFIC once every ApplicationRunner has returned.
+ * With the JPA engine it loads the reference data, runs every IOfferRepository and
+ * IDemandRepository query once on the main database and on every shard (so the statements
+ * are prepared and the SQLite pages they read are cached) and scans each index of each one.
+ * With both engines it then runs a read-only facade workload to get the hot paths JIT-compiled.
+ * A failing step is logged and skipped, so readiness is only delayed, never prevented.
+ * ressourcerie.warmup.enabled=false skips it.
+ */
+@Component
+public class StartupWarmup implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+    private static final Pattern PARTIAL_WHERE = Pattern.compile("(?is)\\swhere\\s(.+)$");
+    private static final int SAMPLE_CATEGORIES = 32;
+    private static final int QUEUES_PER_CALL = 3;
+
+    private final IRessourcerieFacade facade;
+    private final DemandQueueSource queues;
+    private final ICategoryRepository categoryRepo;
+    private final IAssociationRepository associationRepo;
+    private final IMemberRepository memberRepo;
+    private final IOfferRepository offerRepo;
+    private final IDemandRepository demandRepo;
+    private final MemberAssociationCache memberCache;
+    private final ShardRouter shards;
+    private final TransactionTemplate rollbackTx;
+    private final JdbcTemplate jdbc;
+
+    private final boolean enabled;
+    private final boolean jpa;
+    private final int iterations;
+
+    public StartupWarmup(
+            IRessourcerieFacade facade,
+            DemandQueueSource queues,
+            ICategoryRepository categoryRepo,
+            IAssociationRepository associationRepo,
+            IMemberRepository memberRepo,
+            IOfferRepository offerRepo,
+            IDemandRepository demandRepo,
+            MemberAssociationCache memberCache,
+            ShardRouter shards,
+            PlatformTransactionManager transactionManager,
+            DataSource dataSource,
+            @Value("${ressourcerie.warmup.enabled:true}") boolean enabled,
+            @Value("${ressourcerie.storage.engine:jpa}") String engine,
+            @Value("${ressourcerie.warmup.iterations:200}") int iterations
+    ) {
+        if (iterations < 0) throw new IllegalArgumentException("ressourcerie.warmup.iterations must be >= 0");
+        this.facade = facade;
+        this.queues = queues;
+        this.categoryRepo = categoryRepo;
+        this.associationRepo = associationRepo;
+        this.memberRepo = memberRepo;
+        this.offerRepo = offerRepo;
+        this.demandRepo = demandRepo;
+        this.memberCache = memberCache;
+        this.shards = shards;
+        this.rollbackTx = new TransactionTemplate(transactionManager);
+        this.rollbackTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.enabled = enabled;
+        this.jpa = "jpa".equals(engine);
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) return;
+
+        long start = System.nanoTime();
+        List<Long> categoryIds = List.of();
+        int indexesScanned = 0;
+
+        long step = System.nanoTime();
+        if (jpa) categoryIds = step("reference data", this::loadReferenceData, List.of());
+        Duration referenceData = since(step);
+
+        step = System.nanoTime();
+        if (jpa) step("queries", this::primeQueries, null);
+        Duration queries = since(step);
+
+        step = System.nanoTime();
+        if (jpa) {
+            indexesScanned = step("indexes",
+                    () -> shards.fanOut(this::scanIndexes).stream().mapToInt(Integer::intValue).sum(), 0);
+        }
+        Duration indexes = since(step);
+
+        step = System.nanoTime();
+        List<Long> sample = categoryIds;
+        int workloadCalls = step("workload", () -> runWorkload(sample), 0);
+        Duration workload = since(step);
+
+        log.info("Warm-up finished in {} ms (reference data {} ms, queries {} ms, {} indexes {} ms, {} facade calls {} ms)",
+                since(start).toMillis(), referenceData.toMillis(), queries.toMillis(),
+                indexesScanned, indexes.toMillis(), workloadCalls, workload.toMillis());
+    }
+
+    /**
+     * Runs one warm-up step.
+     *
+     * @return its result, or the fallback when it failed
+     */
+    private static <T> T step(String name, Supplier<T> work, T fallback) {
+        try {
+            return work.get();
+        } catch (RuntimeException e) {
+            log.warn("Warm-up step '{}' failed, skipping it", name, e);
+            return fallback;
+        }
+    }
+
+    /**
+     * Fills the second-level cache with categories and associations, and the
+     * association names of the near-cache.
+     *
+     * @return a sample of category ids for the workload
+     */
+    private List<Long> loadReferenceData() {
+        associationRepo.findAll().forEach(memberCache::associationSaved);
+        return categoryRepo.findAll().stream()
+                .map(Category::getId)
+                .limit(SAMPLE_CATEGORIES)
+                .toList();
+    }
+
+    /**
+     * Runs each repository query once on every database with arguments that match nothing,
+     * the updates in a rolled back transaction of their own.
+     */
+    private List<Boolean> primeQueries() {
+        List<Long> none = List.of(0L);
+        return shards.fanOut(() -> {
+            offerRepo.findAllById(none);
+            demandRepo.findAllById(none);
+            categoryRepo.findCachedByIdIn(none);
+            memberRepo.findAssociationIdById(0L);
+            invokeQueries(false);
+
+            rollbackTx.executeWithoutResult(status -> {
+                invokeQueries(true);
+                status.setRollbackOnly();
+            });
+            return true;
+        });
+    }
+
+    /**
+     * Calls the query methods declared by IOfferRepository and IDemandRepository, either the
+     * reads or the updates, so a query added to them is primed without touching this class.
+     */
+    private void invokeQueries(boolean modifying) {
+        Map<Class<?>, Object> repositories = Map.of(IOfferRepository.class, offerRepo, IDemandRepository.class, demandRepo);
+        repositories.forEach((type, repository) -> {
+            for (Method m : type.getDeclaredMethods()) {
+                if (m.isDefault() || m.isSynthetic() || Modifier.isStatic(m.getModifiers())) continue;
+                if (m.isAnnotationPresent(Modifying.class) != modifying) continue;
+
+                Object[] args = Arrays.stream(m.getParameterTypes()).map(StartupWarmup::matchingNothing).toArray();
+                try {
+                    m.invoke(repository, args);
+                } catch (InvocationTargetException e) {
+                    if (e.getCause() instanceof RuntimeException re) throw re;
+                    throw new IllegalStateException("Warm-up query failed: " + m.getName(), e.getCause());
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException("Warm-up query not accessible: " + m.getName(), e);
+                }
+            }
+        });
+    }
+
+    /**
+     * @return an argument of the given type that no row matches
+     */
+    private static Object matchingNothing(Class<?> type) {
+        if (type == Long.class) return 0L;
+        if (type.isAssignableFrom(List.class)) return List.of(0L);
+        if (type == BigDecimal.class) return BigDecimal.ZERO;
+        if (type == LocalDateTime.class) return LocalDateTime.now();
+        if (type.isEnum()) return type.getEnumConstants()[0];
+        throw new IllegalStateException("No warm-up argument for a " + type.getSimpleName() + " parameter");
+    }
+
+    /**
+     * Walks every index of the current database once, so its pages are in the OS cache.
+     * Partial indexes are walked with their own WHERE clause, which they require.
+     *
+     * @return the number of indexes scanned
+     */
+    private int scanIndexes() {
+        int scanned = 0;
+        List<String> tables = jdbc.queryForList(
+                "select name from sqlite_master where type = 'table' and name not like 'sqlite_%'", String.class);
+        for (String table : tables) {
+            for (Map<String, Object> index : jdbc.queryForList("pragma index_list(\"" + table + "\")")) {
+                String name = (String) index.get("name");
+                List<String> columns = jdbc.queryForList("select name from pragma_index_info(?) order by seqno", String.class, name);
+                if (columns.isEmpty() || columns.getFirst() == null) continue;
+
+                String where = "";
+                if (((Number) index.get("partial")).intValue() != 0) {
+                    String sql = jdbc.queryForObject("select sql from sqlite_master where name = ?", String.class, name);
+                    Matcher m = PARTIAL_WHERE.matcher(sql == null ? "" : sql);
+                    if (!m.find()) continue;
+                    where = " where " + m.group(1);
+                }
+
+                jdbc.queryForObject("select count(\"" + columns.getFirst() + "\") from \"" + table
+                        + "\" indexed by \"" + name + "\"" + where, Long.class);
+                scanned++;
+            }
+        }
+        return scanned;
+    }
+
+    /**
+     * Read-only calls along the request hot paths: narrow price bands per category
+     * and the demand queues of the offers found.
+     *
+     * @return the number of facade calls made
+     */
+    private int runWorkload(List<Long> categoryIds) {
+        int calls = 0;
+        for (int i = 0; i < iterations; i++) {
+            Long categoryId = categoryIds.isEmpty() ? null : categoryIds.get(i % categoryIds.size());
+            BigDecimal min = BigDecimal.valueOf(i % 100);
+            List<Offer> offers = facade.listOffersByPriceRange(min, min.add(BigDecimal.ONE), categoryId);
+            calls++;
+
+            for (Offer offer : offers.subList(0, Math.min(QUEUES_PER_CALL, offers.size()))) {
+                queues.demandsOf(offer.getId());
+                calls++;
+            }
+        }
+        return calls;
+    }
+
+    private static Duration since(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+}
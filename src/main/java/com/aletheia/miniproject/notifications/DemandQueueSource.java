@@ -0,0 +1,22 @@
+package com.aletheia.miniproject.notifications;
+
+import com.aletheia.miniproject.core.entities.Demand;
+
+import java.util.List;
+
+/**
+ * Read access the DemandRankNotifier needs from the active storage engine.
+ * Every method throws RessourcerieConflictException when the id does not exist.
+ */
+public interface DemandQueueSource {
+    Long offerIdOfDemand(Long demandId);
+
+    Long associationIdOfOffer(Long offerId);
+
+    Long associationIdOfMember(Long memberId);
+
+    /**
+     * @return every demand of the offer, whatever its status, oldest first
+     */
+    List<Demand> demandsOf(Long offerId);
+}
@@ -0,0 +1,236 @@
+package com.aletheia.miniproject.notifications;
+
+import com.aletheia.miniproject.core.entities.Demand;
+import com.aletheia.miniproject.core.entities.DemandStatus;
+import com.aletheia.miniproject.core.facade.RessourcerieConflictException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Pushes demand queue changes to Server-Sent Events subscribers.
+ * Members subscribe to one demand and receive its rank, association contacts
+ * subscribe to one of their offers and receive the ordered PENDING queue.
+ * The queue is only read when an offer actually has subscribers.
+ * Lookups go through the DemandQueueSource of the active storage engine.
+ */
+@Component
+public class DemandRankNotifier {
+    private static final int OFFER_LOCK_STRIPES = 64;
+
+    private final ObjectProvider<DemandQueueSource> source;
+
+    private final int bufferSize;
+    private final long timeoutMs;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Long, Set<Subscription>> subscriptionsByOffer = new ConcurrentHashMap<>();
+    private final Lock[] offerLocks = new Lock[OFFER_LOCK_STRIPES];
+
+    public DemandRankNotifier(
+            ObjectProvider<DemandQueueSource> source,
+            @Value("${ressourcerie.sse.buffer-size:16}") int bufferSize,
+            @Value("${ressourcerie.sse.timeout-ms:1800000}") long timeoutMs
+    ) {
+        if (bufferSize <= 0) throw new IllegalArgumentException("ressourcerie.sse.buffer-size must be > 0");
+        this.source = source;
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        Arrays.setAll(offerLocks, i -> new ReentrantLock());
+    }
+
+    /**
+     * Subscribes to the rank of a demand.
+     * A "rank" event is sent on every queue change, then a "status" event
+     * and completion once the demand leaves the PENDING state.
+     */
+    public SseEmitter subscribeDemand(Long demandId) {
+        if (demandId == null || demandId <= 0) {
+            throw new IllegalArgumentException("demandId is invalid: " + demandId);
+        }
+
+        DemandQueueSource queues = source.getObject();
+        return subscribe(queues, queues.offerIdOfDemand(demandId), demandId);
+    }
+
+    /**
+     * Subscribes to the PENDING queue of an offer.
+     * Only a member of the association owning the offer may subscribe.
+     */
+    public SseEmitter subscribeOffer(Long contactMemberId, Long offerId) {
+        if (contactMemberId == null || contactMemberId <= 0) {
+            throw new IllegalArgumentException("contactMemberId is invalid");
+        }
+        if (offerId == null || offerId <= 0) {
+            throw new IllegalArgumentException("offerId is invalid");
+        }
+
+        DemandQueueSource queues = source.getObject();
+        if (!queues.associationIdOfOffer(offerId).equals(queues.associationIdOfMember(contactMemberId))) {
+            throw new RessourcerieConflictException("Contact member is not allowed to follow this offer");
+        }
+
+        return subscribe(queues, offerId, null);
+    }
+
+    public boolean hasSubscribers(Long offerId) {
+        Set<Subscription> subscriptions = subscriptionsByOffer.get(offerId);
+        return subscriptions != null && !subscriptions.isEmpty();
+    }
+
+    /**
+     * Notifies subscribers that the queue of an offer changed.
+     * The queue (all demands of the offer, oldest first) is only loaded when someone listens.
+     */
+    public void queueChanged(Long offerId, Supplier<List<Demand>> queue) {
+        if (offerId == null || !hasSubscribers(offerId)) return;
+
+        Lock lock = lockOf(offerId);
+        lock.lock();
+        try {
+            List<Demand> demands = queue.get();
+            for (Subscription s : subscriptionsByOffer.getOrDefault(offerId, Set.of())) {
+                s.push(s.event(demands));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptionsByOffer.values().forEach(set -> set.forEach(Subscription::close));
+        executor.shutdownNow();
+    }
+
+    /**
+     * Registers the subscriber, then reads and sends its snapshot. Both run under the
+     * offer's lock, like queueChanged, so a change notified meanwhile is read and sent
+     * after the snapshot rather than overtaken by it.
+     */
+    private SseEmitter subscribe(DemandQueueSource queues, Long offerId, Long demandId) {
+        Lock lock = lockOf(offerId);
+        lock.lock();
+        try {
+            Subscription subscription = register(offerId, demandId);
+            try {
+                subscription.push(subscription.event(queues.demandsOf(offerId)));
+            } catch (RuntimeException e) {
+                unregister(subscription);
+                throw e;
+            }
+            return subscription.emitter;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Lock lockOf(Long offerId) {
+        return offerLocks[Math.floorMod(offerId.hashCode(), offerLocks.length)];
+    }
+
+    private Subscription register(Long offerId, Long demandId) {
+        Subscription subscription = new Subscription(offerId, demandId, new SseEmitter(timeoutMs));
+        subscriptionsByOffer.computeIfAbsent(offerId, k -> ConcurrentHashMap.newKeySet()).add(subscription);
+
+        subscription.emitter.onCompletion(() -> unregister(subscription));
+        subscription.emitter.onTimeout(() -> unregister(subscription));
+        subscription.emitter.onError(e -> unregister(subscription));
+
+        executor.execute(subscription::drain);
+        return subscription;
+    }
+
+    private void unregister(Subscription subscription) {
+        subscriptionsByOffer.computeIfPresent(subscription.offerId, (k, set) -> {
+            set.remove(subscription);
+            return set.isEmpty() ? null : set;
+        });
+        subscription.close();
+    }
+
+    private static RankEvent demandEvent(Long demandId, List<Demand> demands) {
+        long rank = 0;
+        for (Demand d : demands) {
+            if (d.getStatus() == DemandStatus.PENDING) {
+                rank++;
+                if (Objects.equals(d.getId(), demandId)) {
+                    return new RankEvent("rank", rank, false);
+                }
+            } else if (Objects.equals(d.getId(), demandId)) {
+                return new RankEvent("status", d.getStatus(), true);
+            }
+        }
+        return new RankEvent("status", "NOT_FOUND", true);
+    }
+
+    private static RankEvent offerEvent(Long offerId, List<Demand> demands) {
+        List<Long> pending = demands.stream()
+                .filter(d -> d.getStatus() == DemandStatus.PENDING)
+                .map(Demand::getId)
+                .toList();
+        return new RankEvent("queue", new OfferQueue(offerId, pending), false);
+    }
+
+    public record OfferQueue(Long offerId, List<Long> pendingDemandIds) {
+    }
+
+    private record RankEvent(String name, Object data, boolean last) {
+    }
+
+    /**
+     * One SSE client. Events go through a bounded buffer drained by a virtual thread,
+     * so a slow client never blocks the facade; when the buffer is full the oldest
+     * event is dropped, since only the latest rank matters.
+     */
+    private final class Subscription {
+        private final Long offerId;
+        private final Long demandId;
+        private final SseEmitter emitter;
+        private final DropOldestBuffer<RankEvent> buffer = new DropOldestBuffer<>(bufferSize);
+
+        private Subscription(Long offerId, Long demandId, SseEmitter emitter) {
+            this.offerId = offerId;
+            this.demandId = demandId;
+            this.emitter = emitter;
+        }
+
+        private RankEvent event(List<Demand> demands) {
+            return demandId == null ? offerEvent(offerId, demands) : demandEvent(demandId, demands);
+        }
+
+        private void push(RankEvent event) {
+            buffer.push(event);
+        }
+
+        private void close() {
+            buffer.close();
+        }
+
+        private void drain() {
+            try {
+                RankEvent event;
+                while ((event = buffer.take()) != null) {
+                    emitter.send(SseEmitter.event().name(event.name()).data(event.data()));
+                    if (event.last()) {
+                        emitter.complete();
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
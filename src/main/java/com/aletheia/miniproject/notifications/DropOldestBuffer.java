@@ -0,0 +1,72 @@
+package com.aletheia.miniproject.notifications;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded buffer between the facade and one SSE client: a full buffer drops its oldest
+ * event. Closing is a flag checked under the same lock as every push, so a push racing
+ * with close() can neither evict the close nor be delivered after it.
+ */
+final class DropOldestBuffer<T> {
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    // Guarded by lock
+    private final ArrayDeque<T> events;
+    private boolean closed;
+
+    DropOldestBuffer(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be > 0");
+        this.capacity = capacity;
+        this.events = new ArrayDeque<>(capacity);
+    }
+
+    /**
+     * Adds the event, dropping the oldest one when full. Ignored once closed.
+     */
+    void push(T event) {
+        lock.lock();
+        try {
+            if (closed) return;
+            if (events.size() == capacity) events.pollFirst();
+            events.addLast(event);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for the oldest event.
+     *
+     * @return the event, or null once the buffer is closed
+     */
+    T take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (events.isEmpty() && !closed) {
+                notEmpty.await();
+            }
+            return closed ? null : events.pollFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the pending events and wakes the reader.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            events.clear();
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -1,8 +1,26 @@
 package com.aletheia.miniproject.repos;
 
 import com.aletheia.miniproject.core.entities.Category;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface ICategoryRepository extends JpaRepository<Category, Long> {}
\ No newline at end of file
+public interface ICategoryRepository extends JpaRepository<Category, Long> {
+    /**
+     * Like findAllById, but served from the query and entity caches when the same ids were loaded before.
+     */
+    @Query("""
+        select c
+        from Category c
+        where c.id in :ids
+    """)
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<Category> findCachedByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -3,10 +3,12 @@ package com.aletheia.miniproject.repos;
 import com.aletheia.miniproject.core.entities.Demand;
 import com.aletheia.miniproject.core.entities.DemandStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -15,7 +17,7 @@ public interface IDemandRepository extends JpaRepository<Demand, Long> {
         select d
         from Demand d
         where d.offer.id = :offerId
-        order by d.createdAt asc
+        order by d.createdAt asc, d.id asc
     """)
     List<Demand> findByOfferIdOrderByCreatedAtAsc(@Param("offerId") Long offerId);
 
@@ -24,19 +26,59 @@ public interface IDemandRepository extends JpaRepository<Demand, Long> {
         from Demand d
         where d.offer.id = :offerId
           and d.status = :status
-        order by d.createdAt asc
+        order by d.createdAt asc, d.id asc
     """)
     List<Demand> findByOfferIdAndStatusOrderByCreatedAtAsc(@Param("offerId") Long offerId, @Param("status") DemandStatus status);
 
+    /**
+     * @return the PENDING demands of several offers, grouped by offer, oldest first within an offer
+     */
     @Query("""
-        select case when count(d) > 0 then true else false end
+        select d
         from Demand d
-        where d.offer.id = :offerId
-          and d.demander.id = :demanderId
+        where d.offer.id in :offerIds
           and d.status = com.aletheia.miniproject.core.entities.DemandStatus.PENDING
+        order by d.offer.id, d.createdAt asc, d.id asc
+    """)
+    List<Demand> findPendingByOfferIdIn(@Param("offerIds") Collection<Long> offerIds);
+
+    /**
+     * Moves PENDING demands to another status in one statement. Demands already in the
+     * persistence context keep their old status: callers detach the ones they changed.
+     *
+     * @return the number of demands actually changed
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        update Demand d
+        set d.status = :status
+        where d.id in :ids
+          and d.status = com.aletheia.miniproject.core.entities.DemandStatus.PENDING
+    """)
+    int updatePendingStatus(@Param("ids") Collection<Long> ids, @Param("status") DemandStatus status);
+
+    /**
+     * @return rows of [demand id, demander id, category id] of APPROVED demands, ordered by demand
+     */
+    @Query("""
+        select d.id, d.demander.id, oc.id.categoryId
+        from Demand d
+        join d.offer o
+        join o.categories oc
+        where d.status = com.aletheia.miniproject.core.entities.DemandStatus.APPROVED
+        order by d.id
+    """)
+    List<Object[]> findApprovedDemandCategories();
+
+    /**
+     * @return rows of [association id of the demander, number of APPROVED demands]
+     */
+    @Query("""
+        select m.association.id, count(d)
+        from Demand d
+        join d.demander m
+        where d.status = com.aletheia.miniproject.core.entities.DemandStatus.APPROVED
+        group by m.association.id
     """)
-    boolean existsPendingByOfferIdAndDemanderId(
-            @Param("offerId") Long offerId,
-            @Param("demanderId") Long demanderId
-    );
+    List<Object[]> countApprovedByDemanderAssociation();
 }
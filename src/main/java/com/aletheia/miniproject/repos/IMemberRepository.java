@@ -2,7 +2,18 @@ package com.aletheia.miniproject.repos;
 
 import com.aletheia.miniproject.core.entities.Member;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
-public interface IMemberRepository extends JpaRepository<Member, Long> {}
+public interface IMemberRepository extends JpaRepository<Member, Long> {
+    @Query("""
+        select m.association.id
+        from Member m
+        where m.id = :memberId
+    """)
+    Optional<Long> findAssociationIdById(@Param("memberId") Long memberId);
+}
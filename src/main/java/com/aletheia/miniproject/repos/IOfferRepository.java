@@ -1,9 +1,15 @@
 package com.aletheia.miniproject.repos;
 
 import com.aletheia.miniproject.core.entities.Offer;
+import com.aletheia.miniproject.core.entities.OfferStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface IOfferRepository extends JpaRepository<Offer, Long> {
@@ -14,4 +20,78 @@ public interface IOfferRepository extends JpaRepository<Offer, Long> {
         where oc.category.id = :categoryId
     """)
     List<Offer> findDistinctByCategoriesId(Long categoryId);
+
+    /**
+     * Served by idx_offers_status_price: the price bounds are bound as cents
+     * through PriceCentsConverter.
+     */
+    @Query("""
+        select o
+        from Offer o
+        where o.status = :status
+          and o.price between :minPrice and :maxPrice
+        order by o.price asc
+    """)
+    List<Offer> findByStatusAndPriceBetween(
+            @Param("status") OfferStatus status,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice
+    );
+
+    @Query("""
+        select o
+        from Offer o
+        where o.status = :status
+          and o.price between :minPrice and :maxPrice
+          and exists (
+            select 1 from OfferCategory oc
+            where oc.offer = o and oc.category.id = :categoryId
+          )
+        order by o.price asc
+    """)
+    List<Offer> findByStatusAndPriceBetweenAndCategoryId(
+            @Param("status") OfferStatus status,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice,
+            @Param("categoryId") Long categoryId
+    );
+
+    /**
+     * @return rows of [association id, number of offers]
+     */
+    @Query("""
+        select o.association.id, count(o)
+        from Offer o
+        group by o.association.id
+    """)
+    List<Object[]> countByAssociation();
+
+    /**
+     * @return rows of [offer id, association id, association name, name, description, price,
+     * status, created at, closed at, category id], one per category link, ordered by offer
+     */
+    @Query("""
+        select o.id, a.id, a.name, o.name, o.description, o.price, o.status, o.createdAt, o.closedAt, oc.id.categoryId
+        from Offer o
+        join o.association a
+        left join o.categories oc
+        order by o.id, oc.id.categoryId
+    """)
+    List<Object[]> findOfferViewRows();
+
+    /**
+     * Closes OPEN offers in one statement. Offers already in the persistence context
+     * keep their old status: callers detach the ones they closed.
+     *
+     * @return the number of offers actually closed
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        update Offer o
+        set o.status = com.aletheia.miniproject.core.entities.OfferStatus.CLOSED,
+            o.closedAt = :closedAt
+        where o.id in :ids
+          and o.status = com.aletheia.miniproject.core.entities.OfferStatus.OPEN
+    """)
+    int closeOpen(@Param("ids") Collection<Long> ids, @Param("closedAt") LocalDateTime closedAt);
 }
@@ -0,0 +1,23 @@
+package com.aletheia.miniproject.sharding;
+
+/**
+ * Association whose shard the current thread talks to; null means the main database.
+ */
+public final class ShardContext {
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Long current() {
+        return CURRENT.get();
+    }
+
+    static void set(Long associationId) {
+        if (associationId == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(associationId);
+        }
+    }
+}
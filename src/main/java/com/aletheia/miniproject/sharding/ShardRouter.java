@@ -0,0 +1,134 @@
+package com.aletheia.miniproject.sharding;
+
+import com.aletheia.miniproject.core.entities.Association;
+import com.aletheia.miniproject.core.entities.Category;
+import com.aletheia.miniproject.core.entities.Member;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Runs facade work against the shard that owns it. Without sharding every call
+ * simply runs on the main database, so the facade code is the same in both modes.
+ */
+@Component
+public class ShardRouter {
+    private final ShardRoutingDataSource routing;
+    private final TransactionTemplate readOnlyTx;
+    private final ExecutorService fanOutPool;
+
+    public ShardRouter(
+            ObjectProvider<ShardRoutingDataSource> routing,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.routing = routing.getIfAvailable();
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.fanOutPool = this.routing == null ? null : Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("ressourcerie-fan-out-", 0).factory());
+    }
+
+    public boolean isEnabled() {
+        return routing != null;
+    }
+
+    /**
+     * @return the association owning an offer or demand id, or null for the main database
+     */
+    public Long shardOf(Long id) {
+        if (!isEnabled() || id == null) return null;
+        long associationId = id >>> ShardRoutingDataSource.ID_SHIFT;
+        return associationId == 0 ? null : associationId;
+    }
+
+    /**
+     * Runs work with the connection routed to the given association's shard.
+     */
+    public <T> T onShard(Long associationId, Supplier<T> work) {
+        if (!isEnabled()) return work.get();
+
+        Long previous = ShardContext.current();
+        ShardContext.set(associationId);
+        try {
+            return work.get();
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+
+    public void onShard(Long associationId, Runnable work) {
+        onShard(associationId, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs a read-only query on the main database and on every shard in parallel.
+     * Each run has its own transaction, so the work must initialize whatever
+     * lazy state the caller needs before returning.
+     *
+     * @return one result per database
+     */
+    public <T> List<T> fanOut(Supplier<T> work) {
+        if (!isEnabled()) return List.of(work.get());
+
+        List<Long> keys = new ArrayList<>();
+        keys.add(null);
+        keys.addAll(routing.shardIds());
+
+        List<Future<T>> futures = new ArrayList<>(keys.size());
+        for (Long key : keys) {
+            futures.add(fanOutPool.submit(() -> onShard(key, () -> readOnlyTx.execute(status -> work.get()))));
+        }
+
+        List<T> results = new ArrayList<>(keys.size());
+        try {
+            for (Future<T> f : futures) {
+                results.add(f.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(f -> f.cancel(true));
+            throw new IllegalStateException("Interrupted while querying shards", e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("Shard query failed", e.getCause());
+        }
+        return results;
+    }
+
+    public void associationSaved(Association a) {
+        if (!isEnabled()) return;
+        routing.forEachShard(jdbc -> jdbc.update(
+                "insert or replace into associations (id, name, representer_id) values (?, ?, ?)",
+                a.getId(), a.getName(), a.getRepresenter() == null ? null : a.getRepresenter().getId()));
+    }
+
+    public void memberSaved(Member m) {
+        if (!isEnabled()) return;
+        routing.forEachShard(jdbc -> jdbc.update(
+                "insert or replace into members (id, name, association_id) values (?, ?, ?)",
+                m.getId(), m.getName(), m.getAssociation() == null ? null : m.getAssociation().getId()));
+    }
+
+    public void categorySaved(Category c) {
+        if (!isEnabled()) return;
+        routing.forEachShard(jdbc -> jdbc.update(
+                "insert or replace into categories (id, name) values (?, ?)",
+                c.getId(), c.getName()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (fanOutPool != null) fanOutPool.shutdownNow();
+    }
+}
@@ -0,0 +1,154 @@
+package com.aletheia.miniproject.sharding;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteDataSource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Routes connections to the main database or to the SQLite file of the association
+ * set in ShardContext. Shard files are created on first use: schema, copy of the
+ * reference tables (associations, members, categories) and id sequences seeded so
+ * that every offer/demand id carries its association in the high 32 bits.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+    public static final int ID_SHIFT = 32;
+
+    private static final Pattern SHARD_FILE = Pattern.compile("association-(\\d+)\\.db");
+    private static final Pattern SHARD_FILE_OR_WAL = Pattern.compile("association-\\d+\\.db(-wal|-shm|-journal)?");
+
+    private final Path mainFile;
+    private final Path directory;
+    private final Map<Long, DataSource> shards = new ConcurrentHashMap<>();
+
+    public ShardRoutingDataSource(DataSource main, Path mainFile, Path directory) {
+        this.mainFile = mainFile.toAbsolutePath();
+        this.directory = directory.toAbsolutePath();
+        setDefaultTargetDataSource(main);
+        setTargetDataSources(new HashMap<>());
+    }
+
+    /**
+     * Registers the shard files left by a previous run.
+     */
+    public void openExistingShards() {
+        try {
+            Files.createDirectories(directory);
+            try (var files = Files.list(directory)) {
+                files.forEach(f -> {
+                    Matcher m = SHARD_FILE.matcher(f.getFileName().toString());
+                    if (m.matches()) {
+                        shards.put(Long.parseLong(m.group(1)), open(f));
+                    }
+                });
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open shard directory " + directory, e);
+        }
+    }
+
+    /**
+     * Deletes the shard files left by a previous run, for when the main database is
+     * recreated on startup: their rows would otherwise mix with the restarted ids.
+     */
+    public void dropExistingShards() {
+        try {
+            Files.createDirectories(directory);
+            try (var files = Files.list(directory)) {
+                for (Path f : files.toList()) {
+                    if (SHARD_FILE_OR_WAL.matcher(f.getFileName().toString()).matches()) {
+                        Files.delete(f);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot clear shard directory " + directory, e);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+
+    @Override
+    protected DataSource determineTargetDataSource() {
+        Long associationId = ShardContext.current();
+        if (associationId == null) {
+            return getResolvedDefaultDataSource();
+        }
+        return shard(associationId);
+    }
+
+    public Set<Long> shardIds() {
+        return Collections.unmodifiableSet(shards.keySet());
+    }
+
+    public DataSource shard(Long associationId) {
+        DataSource existing = shards.get(associationId);
+        if (existing != null) return existing;
+
+        synchronized (this) {
+            return shards.computeIfAbsent(associationId, this::create);
+        }
+    }
+
+    /**
+     * Applies a reference-data write to every shard. Runs under the same lock as
+     * shard creation, so a new shard either copies the row or receives it here.
+     */
+    public synchronized void forEachShard(Consumer<JdbcTemplate> write) {
+        for (DataSource shard : shards.values()) {
+            write.accept(new JdbcTemplate(shard));
+        }
+    }
+
+    private DataSource create(Long associationId) {
+        Path file = directory.resolve("association-" + associationId + ".db");
+        DataSource shard = open(file);
+
+        try (Connection c = shard.getConnection()) {
+            ScriptUtils.executeSqlScript(c, new ClassPathResource("sharding/shard-schema.sql"));
+
+            JdbcTemplate jdbc = new JdbcTemplate(new SingleConnectionDataSource(c, true));
+            jdbc.execute("attach database '" + mainFile.toString().replace("'", "''") + "' as main_db");
+            jdbc.execute("insert or ignore into associations (id, name, representer_id) select id, name, representer_id from main_db.associations");
+            jdbc.execute("insert or ignore into members (id, name, association_id) select id, name, association_id from main_db.members");
+            jdbc.execute("insert or ignore into categories (id, name) select id, name from main_db.categories");
+            jdbc.execute("detach database main_db");
+
+            long firstId = associationId << ID_SHIFT;
+            jdbc.update("insert into sqlite_sequence (name, seq) select ?, ? where not exists (select 1 from sqlite_sequence where name = ?)", "offers", firstId, "offers");
+            jdbc.update("insert into sqlite_sequence (name, seq) select ?, ? where not exists (select 1 from sqlite_sequence where name = ?)", "demands", firstId, "demands");
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot create shard for association " + associationId, e);
+        }
+        return shard;
+    }
+
+    private static DataSource open(Path file) {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        config.setBusyTimeout(5000);
+
+        SQLiteDataSource dataSource = new SQLiteDataSource(config);
+        dataSource.setUrl("jdbc:sqlite:" + file);
+        return dataSource;
+    }
+}
@@ -0,0 +1,65 @@
+package com.aletheia.miniproject.sharding;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Path;
+
+/**
+ * Replaces the application DataSource by a ShardRoutingDataSource when
+ * ressourcerie.sharding.enabled=true. Hibernate keeps creating the schema of the
+ * main database; shard files get theirs from sharding/shard-schema.sql.
+ * When ddl-auto recreates the main database, the shard files of the previous run
+ * are deleted rather than reopened, since ids start over.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ressourcerie.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+    private static final String SQLITE_PREFIX = "jdbc:sqlite:";
+
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(
+            @Value("${spring.datasource.url}") String url,
+            @Value("${ressourcerie.sharding.directory:shards}") String directory,
+            @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto
+    ) {
+        if (!url.startsWith(SQLITE_PREFIX)) {
+            throw new IllegalStateException("Sharding requires a SQLite datasource, got " + url);
+        }
+
+        SQLiteConfig config = new SQLiteConfig();
+        config.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        config.setBusyTimeout(5000);
+
+        SQLiteDataSource main = new SQLiteDataSource(config);
+        main.setUrl(url);
+
+        ShardRoutingDataSource routing = new ShardRoutingDataSource(
+                main,
+                Path.of(url.substring(SQLITE_PREFIX.length())),
+                Path.of(directory)
+        );
+        if (ddlAuto.equals("create") || ddlAuto.equals("create-drop")) {
+            routing.dropExistingShards();
+        } else {
+            routing.openExistingShards();
+        }
+        return routing;
+    }
+
+    /**
+     * Connections are taken per transaction so that each one is routed to the current shard.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer shardConnectionHandling() {
+        return properties -> properties.put("hibernate.connection.handling_mode",
+                "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+}
@@ -0,0 +1,7 @@
+-- Runs after Hibernate has created the tables (spring.jpa.defer-datasource-initialization).
+-- Constraints JPA annotations cannot express.
+
+-- At most one PENDING demand per (offer, demander); enforced atomically by SQLite
+create unique index if not exists uq_demands_pending_offer_demander
+    on demands (offer_id, demander_id)
+    where status = 'PENDING';
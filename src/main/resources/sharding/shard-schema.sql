@@ -0,0 +1,53 @@
+-- Schema of a per-association shard. Must follow the JPA mapping in core.entities.
+-- Reference tables are copies of the main database; offers and demands use
+-- AUTOINCREMENT so their sequence can be seeded with the association id.
+
+create table if not exists associations (
+    id integer primary key,
+    name varchar(64) not null,
+    representer_id bigint
+);
+
+create table if not exists members (
+    id integer primary key,
+    name varchar(64) not null,
+    association_id bigint not null
+);
+
+create table if not exists categories (
+    id integer primary key,
+    name varchar(64) not null
+);
+
+create table if not exists offers (
+    id integer primary key autoincrement,
+    association_id bigint not null,
+    name varchar(64) not null,
+    description clob not null,
+    price_cents bigint not null,
+    status varchar(255) not null,
+    created_at timestamp not null,
+    closed_at timestamp
+);
+
+create index if not exists idx_offers_status_price on offers (status, price_cents);
+
+create table if not exists offers_categories (
+    offer_id bigint not null,
+    category_id bigint not null,
+    primary key (offer_id, category_id)
+);
+
+create table if not exists demands (
+    id integer primary key autoincrement,
+    offer_id bigint not null,
+    demander_id bigint not null,
+    created_at timestamp not null,
+    status varchar(255) not null
+);
+
+create index if not exists idx_demands_offer on demands (offer_id, created_at);
+
+create unique index if not exists uq_demands_pending_offer_demander
+    on demands (offer_id, demander_id)
+    where status = 'PENDING';
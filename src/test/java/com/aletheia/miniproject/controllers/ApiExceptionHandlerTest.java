@@ -0,0 +1,33 @@
+package com.aletheia.miniproject.controllers;
+
+import com.aletheia.miniproject.core.admission.TooManyRequestsException;
+import com.aletheia.miniproject.core.facade.RessourcerieConflictException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiExceptionHandlerTest {
+
+    @Test
+    void shedCallsAre429WithRetryAfter() {
+        ResponseEntity<ProblemDetail> response = new ApiExceptionHandler()
+                .tooManyRequests(new TooManyRequestsException("Too many rank lookups from member 1", 7));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("7", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("Too many rank lookups from member 1", response.getBody().getDetail());
+    }
+
+    @Test
+    void onlyDomainConflictsAre409() {
+        ExceptionHandlerMethodResolver resolver = new ExceptionHandlerMethodResolver(ApiExceptionHandler.class);
+
+        assertNotNull(resolver.resolveMethodByThrowable(new RessourcerieConflictException("Offer not found: 1")));
+        assertNull(resolver.resolveMethodByThrowable(new IllegalStateException("Journal write failed")));
+    }
+}
@@ -0,0 +1,46 @@
+package com.aletheia.miniproject.controllers;
+
+import com.aletheia.miniproject.core.facade.IRessourcerieFacade;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.ui.Model;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CatalogControllerTest {
+
+    @Autowired
+    private IRessourcerieFacade facade;
+
+    @Autowired
+    private CatalogController controller;
+
+    private String listFragment(Long categoryId) {
+        Model model = new ExtendedModelMap();
+        assertEquals("catalog/offers", controller.offers(categoryId, 0, model));
+        return (String) model.getAttribute("fragment");
+    }
+
+    @Test
+    void offerChangesEvictCachedFragments() {
+        Long associationId = facade.createAssociation("Catalog association").getId();
+        Long contactId = facade.addMember(associationId, "Contact").getId();
+        Long categoryId = facade.createCategory("Catalog category").getId();
+
+        assertTrue(listFragment(categoryId).contains("No open offer."));
+
+        Long offerId = facade.createOffer(contactId, "Brass lamp", "Works", BigDecimal.TEN, List.of(categoryId)).getId();
+        String listed = listFragment(categoryId);
+        assertTrue(listed.contains("Brass lamp"));
+        assertSame(listed, listFragment(categoryId));
+
+        facade.archiveOffer(offerId);
+        assertFalse(listFragment(categoryId).contains("Brass lamp"));
+    }
+}
@@ -0,0 +1,111 @@
+package com.aletheia.miniproject.controllers;
+
+import com.aletheia.miniproject.core.facade.IRessourcerieFacade;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.method.HandlerTypePredicate;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "ressourcerie.ratelimit.member.burst=1000000",
+        "ressourcerie.ratelimit.offer.burst=1000000",
+        "ressourcerie.ratelimit.rank.burst=1000000"
+})
+class RessourcerieApiControllerTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private IRessourcerieFacade facade;
+
+    @Autowired
+    private RequestMappingHandlerMapping handlerMapping;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    private Long offer(Long contactId, String name, Long categoryId) {
+        return facade.createOffer(contactId, name, "Works", BigDecimal.TEN, List.of(categoryId)).getId();
+    }
+
+    @Test
+    void everyApiControllerIsAdvised() {
+        HandlerTypePredicate advised = HandlerTypePredicate.forAssignableType(
+                ApiExceptionHandler.class.getAnnotation(RestControllerAdvice.class).assignableTypes());
+
+        handlerMapping.getHandlerMethods().forEach((mapping, method) -> {
+            if (mapping.getPatternValues().stream().anyMatch(p -> p.startsWith("/api/"))) {
+                assertTrue(advised.test(method.getBeanType()), method.toString());
+            }
+        });
+    }
+
+    @Test
+    void invalidInputIs400() throws Exception {
+        mvc.perform(post("/api/associations").contentType(MediaType.APPLICATION_JSON).content("{\"name\":\" \"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Association name is null or blank"));
+    }
+
+    @Test
+    void domainConflictsAre409() throws Exception {
+        Long associationId = facade.createAssociation("Api association").getId();
+        Long contactId = facade.addMember(associationId, "Contact").getId();
+        Long offerId = offer(contactId, "Desk", facade.createCategory("Api category").getId());
+        Long demanderId = facade.addMember(facade.createAssociation("Api demanders").getId(), "Demander").getId();
+        String demand = "{\"memberId\":" + demanderId + "}";
+
+        mvc.perform(post("/api/offers/{offerId}/demands", offerId).contentType(MediaType.APPLICATION_JSON).content(demand))
+                .andExpect(status().isCreated());
+        mvc.perform(post("/api/offers/{offerId}/demands", offerId).contentType(MediaType.APPLICATION_JSON).content(demand))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.detail").value("This member already has a PENDING demand for this offer"));
+
+        mvc.perform(post("/api/offers/{offerId}/archive", Long.MAX_VALUE))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.detail").value("Offer not found: " + Long.MAX_VALUE));
+    }
+
+    @Test
+    void listingsAreStreamedAsAJsonArray() throws Exception {
+        Long contactId = facade.addMember(facade.createAssociation("Streamed association").getId(), "Contact").getId();
+        Long categoryId = facade.createCategory("Streamed category").getId();
+
+        mvc.perform(get("/api/offers").param("categoryId", categoryId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(content().string("[]"));
+
+        Long first = offer(contactId, "Lamp", categoryId);
+        Long second = offer(contactId, "Chair", categoryId);
+
+        mvc.perform(get("/api/offers").param("categoryId", categoryId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[*].id", contains(first.intValue(), second.intValue())))
+                .andExpect(jsonPath("$[0].name").value("Lamp"))
+                .andExpect(jsonPath("$[0].categoryIds", contains(categoryId.intValue())));
+    }
+}
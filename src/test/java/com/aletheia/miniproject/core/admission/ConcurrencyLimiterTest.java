@@ -0,0 +1,23 @@
+package com.aletheia.miniproject.core.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimiterTest {
+
+    @Test
+    void callsBeyondTheCapAreShedUntilAPermitIsReleased() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 3);
+        limiter.acquire();
+        limiter.acquire();
+        assertEquals(0, limiter.availablePermits());
+
+        TooManyRequestsException shed = assertThrows(TooManyRequestsException.class, limiter::acquire);
+        assertEquals(3, shed.getRetryAfterSeconds());
+
+        limiter.release();
+        limiter.acquire();
+        assertEquals(0, limiter.availablePermits());
+    }
+}
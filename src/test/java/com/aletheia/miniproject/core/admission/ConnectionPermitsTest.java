@@ -0,0 +1,42 @@
+package com.aletheia.miniproject.core.admission;
+
+import com.aletheia.miniproject.sharding.ShardRoutingDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPermitsTest {
+
+    @Test
+    void connectionsBeyondTheBoundWaitForAClose(@TempDir Path directory) throws SQLException {
+        SQLiteDataSource sqlite = new SQLiteDataSource();
+        sqlite.setUrl("jdbc:sqlite:" + directory.resolve("permits.db"));
+        ShardRoutingDataSource routing = new ShardRoutingDataSource(sqlite, directory.resolve("permits.db"), directory.resolve("shards"));
+        routing.afterPropertiesSet();
+
+        ConnectionPermits permits = new ConnectionPermits(1, 50);
+        assertSame(sqlite, permits.postProcessAfterInitialization(sqlite, "pooledOrOther"));
+        Object bean = permits.postProcessAfterInitialization(routing, "dataSource");
+        ShardRoutingDataSource dataSource = assertInstanceOf(ShardRoutingDataSource.class, bean);
+
+        Connection first = dataSource.getConnection();
+        assertEquals(0, permits.availablePermits());
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        first.close();
+        first.close();
+        assertEquals(1, permits.availablePermits());
+
+        try (Connection second = dataSource.getConnection()) {
+            assertTrue(second.isValid(1));
+        }
+        assertEquals(1, permits.availablePermits());
+    }
+}
@@ -0,0 +1,51 @@
+package com.aletheia.miniproject.core.admission;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+    private final RateLimiter limiter = new RateLimiter(2, 1, 3, 1, 1, 1, 0);
+
+    @AfterEach
+    void stop() {
+        limiter.stop();
+    }
+
+    @Test
+    void demandsAreLimitedPerMemberAndPerOffer() {
+        limiter.acquireDemand(1L, 10L);
+        limiter.acquireDemand(1L, 10L);
+        TooManyRequestsException member = assertThrows(TooManyRequestsException.class, () -> limiter.acquireDemand(1L, 11L));
+        assertEquals("Too many demands from member 1", member.getMessage());
+        assertTrue(member.getRetryAfterSeconds() >= 1);
+
+        limiter.acquireDemand(2L, 10L);
+        TooManyRequestsException offer = assertThrows(TooManyRequestsException.class, () -> limiter.acquireDemand(3L, 10L));
+        assertEquals("Too many demands on offer 10", offer.getMessage());
+    }
+
+    @Test
+    void rankLookupsAreLimitedPerDemander() {
+        limiter.acquireRankLookup(1L);
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquireRankLookup(1L));
+
+        limiter.acquireRankLookup(2L);
+    }
+
+    @Test
+    void fullBucketsAreSwept() {
+        limiter.acquireDemand(1L, 10L);
+        limiter.acquireRankLookup(1L);
+        assertEquals(3, limiter.trackedKeys());
+
+        limiter.evictIdle(System.nanoTime());
+        assertEquals(3, limiter.trackedKeys());
+
+        limiter.evictIdle(System.nanoTime() + TimeUnit.MINUTES.toNanos(5));
+        assertEquals(0, limiter.trackedKeys());
+    }
+}
@@ -0,0 +1,104 @@
+package com.aletheia.miniproject.core.analytics;
+
+import com.aletheia.miniproject.core.analytics.PriceAnalytics.PriceQuantiles;
+import com.aletheia.miniproject.core.entities.OfferStatus;
+import com.aletheia.miniproject.core.facade.IRessourcerieFacade;
+import com.aletheia.miniproject.core.readmodel.OfferReadModel;
+import com.aletheia.miniproject.core.readmodel.OfferReadModelRebuilt;
+import com.aletheia.miniproject.core.readmodel.OfferView;
+import com.aletheia.miniproject.core.readmodel.OfferViewChanged;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "ressourcerie.ratelimit.member.burst=1000000",
+        "ressourcerie.ratelimit.offer.burst=1000000"
+})
+class PriceAnalyticsTest {
+    private static final double[] MEDIAN = {0.5};
+
+    @Autowired
+    private IRessourcerieFacade facade;
+
+    @Autowired
+    private OfferReadModel readModel;
+
+    @Autowired
+    private PriceAnalytics analytics;
+
+    /**
+     * @return the id of a new category holding one offer per price
+     */
+    private Long categoryWithOffers(String... prices) {
+        Long categoryId = facade.createCategory("Prices").getId();
+        Long contactId = facade.addMember(facade.createAssociation("Sellers").getId(), "Contact").getId();
+        for (String price : prices) {
+            facade.createOffer(contactId, "Lamp", "Brass", new BigDecimal(price), List.of(categoryId));
+        }
+        return categoryId;
+    }
+
+    private static PriceQuantiles quantiles(PriceAnalytics analytics, Long categoryId) {
+        return analytics.quantiles(List.of(categoryId), null, MEDIAN);
+    }
+
+    @Test
+    void createdOffersAreAddedToTheSketches() {
+        Long categoryId = categoryWithOffers("10", "20", "30", "40");
+
+        PriceQuantiles quantiles = quantiles(analytics, categoryId);
+        assertEquals(4, quantiles.count());
+        assertEquals(new BigDecimal("10.00"), quantiles.min());
+        assertEquals(new BigDecimal("40.00"), quantiles.max());
+    }
+
+    @Test
+    void savedSketchesAreReloaded(@TempDir Path directory) throws IOException {
+        Long categoryId = categoryWithOffers("5", "15");
+        String file = directory.resolve("sketches.bin").toString();
+
+        PriceAnalytics saved = new PriceAnalytics(readModel, file, 100, 0);
+        saved.rebuild();
+        saved.close();
+
+        PriceAnalytics reloaded = new PriceAnalytics(readModel, file, 100, 0);
+        PriceQuantiles quantiles = quantiles(reloaded, categoryId);
+        assertEquals(2, quantiles.count());
+        assertEquals(new BigDecimal("5.00"), quantiles.min());
+        reloaded.close();
+    }
+
+    @Test
+    void staleFileIsRebuiltEvenWithTheSameOfferCount(@TempDir Path directory) throws IOException {
+        Long categoryId = categoryWithOffers("12", "24");
+        String file = directory.resolve("sketches.bin").toString();
+
+        // Same number of offers as the read model, but other prices
+        PriceAnalytics stale = new PriceAnalytics(readModel, file, 100, 0);
+        for (OfferView o : readModel.listOffers()) {
+            stale.offerChanged(new OfferViewChanged(new OfferView(o.id(), o.associationId(), o.associationName(), o.name(),
+                    o.description(), BigDecimal.ONE, OfferStatus.OPEN, o.createdAt(), o.closedAt(), o.categoryIds())));
+        }
+        stale.close();
+
+        PriceAnalytics reloaded = new PriceAnalytics(readModel, file, 100, 0);
+        assertEquals(new BigDecimal("1.00"), quantiles(reloaded, categoryId).min());
+
+        reloaded.readModelRebuilt(new OfferReadModelRebuilt(readModel.size()));
+
+        PriceQuantiles quantiles = quantiles(reloaded, categoryId);
+        assertEquals(2, quantiles.count());
+        assertEquals(new BigDecimal("12.00"), quantiles.min());
+        assertEquals(new BigDecimal("24.00"), quantiles.max());
+        reloaded.close();
+    }
+}
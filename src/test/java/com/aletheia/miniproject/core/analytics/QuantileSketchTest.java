@@ -0,0 +1,63 @@
+package com.aletheia.miniproject.core.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuantileSketchTest {
+
+    private static QuantileSketch uniform(long seed, int n, double from, double to) {
+        QuantileSketch sketch = new QuantileSketch(100);
+        Random random = new Random(seed);
+        for (int i = 0; i < n; i++) {
+            sketch.add(from + random.nextDouble() * (to - from));
+        }
+        return sketch;
+    }
+
+    @Test
+    void estimatesQuantilesOfAUniformDistribution() {
+        QuantileSketch sketch = uniform(1, 100_000, 0, 1000);
+
+        assertEquals(100_000, sketch.count());
+        assertEquals(500, sketch.quantile(0.5), 10);
+        assertEquals(900, sketch.quantile(0.9), 5);
+        assertEquals(990, sketch.quantile(0.99), 2);
+        assertTrue(sketch.quantile(0) >= sketch.min());
+        assertTrue(sketch.quantile(1) <= sketch.max());
+    }
+
+    @Test
+    void mergedSketchesDescribeTheUnion() {
+        QuantileSketch low = uniform(2, 50_000, 0, 100);
+        QuantileSketch high = uniform(3, 50_000, 100, 200);
+
+        low.merge(high);
+
+        assertEquals(100_000, low.count());
+        assertEquals(100, low.quantile(0.5), 3);
+        assertEquals(180, low.quantile(0.9), 3);
+    }
+
+    @Test
+    void survivesSerialization() throws IOException {
+        QuantileSketch sketch = uniform(4, 10_000, 0, 50);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        sketch.writeTo(new DataOutputStream(bytes));
+
+        QuantileSketch read = QuantileSketch.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(sketch.count(), read.count());
+        assertEquals(sketch.quantile(0.5), read.quantile(0.5));
+        assertTrue(bytes.size() < 10_000, "a sketch stays small: " + bytes.size() + " bytes");
+    }
+
+    @Test
+    void emptySketchHasNoQuantile() {
+        assertTrue(Double.isNaN(new QuantileSketch(100).quantile(0.5)));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(100).quantile(1.5));
+    }
+}
@@ -0,0 +1,63 @@
+package com.aletheia.miniproject.core.audit;
+
+import com.aletheia.miniproject.core.entities.DemandStatus;
+import com.aletheia.miniproject.core.entities.OfferStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransitionJournalTest {
+
+    @Test
+    void transitionsSurviveRotationAndReopening(@TempDir Path directory) throws IOException {
+        TransitionJournal journal = new TransitionJournal(directory.toString(), 3, false);
+        journal.offerChanged(10, 1, null, OfferStatus.OPEN);
+        for (long demand = 1; demand <= 4; demand++) {
+            journal.demandChanged(demand, demand % 2 == 0 ? 10 : 20, 100 + demand, null, DemandStatus.PENDING);
+        }
+        journal.offerChanged(10, 1, OfferStatus.OPEN, OfferStatus.CLOSED);
+        journal.close();
+
+        TransitionJournal reopened = new TransitionJournal(directory.toString(), 3, false);
+        reopened.demandChanged(2, 10, 102, DemandStatus.PENDING, DemandStatus.CANCELLED);
+
+        try (var files = Files.list(directory)) {
+            assertEquals(3, files.count());
+        }
+
+        List<Transition> offer = reopened.ofOffer(10);
+        assertEquals(5, offer.size());
+        assertEquals(new Transition(offer.getFirst().at(), Transition.Kind.OFFER, 10, 10, 1, null, "OPEN"), offer.getFirst());
+        assertEquals("CLOSED", offer.get(3).to());
+
+        List<Transition> member = reopened.ofMember(102);
+        assertEquals(List.of("PENDING", "CANCELLED"), member.stream().map(Transition::to).toList());
+        assertEquals(Transition.Kind.DEMAND, member.getLast().kind());
+        assertEquals("PENDING", member.getLast().from());
+        reopened.close();
+    }
+
+    @Test
+    void recreatedSchemaStartsAnEmptyTrail(@TempDir Path directory) throws IOException {
+        TransitionJournal journal = new TransitionJournal(directory.toString(), 3, false);
+        for (long demand = 1; demand <= 4; demand++) {
+            journal.demandChanged(demand, 10, 100, null, DemandStatus.PENDING);
+        }
+        journal.close();
+
+        TransitionJournal recreated = new TransitionJournal(directory.toString(), 3, true);
+        recreated.offerChanged(10, 1, null, OfferStatus.OPEN);
+
+        assertEquals(List.of("OPEN"), recreated.ofOffer(10).stream().map(Transition::to).toList());
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+        recreated.close();
+    }
+}
@@ -0,0 +1,98 @@
+package com.aletheia.miniproject.core.cache;
+
+import com.aletheia.miniproject.core.entities.Association;
+import com.aletheia.miniproject.core.entities.Member;
+import com.aletheia.miniproject.repos.IAssociationRepository;
+import com.aletheia.miniproject.repos.IMemberRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MemberAssociationCacheTest {
+    private final IMemberRepository memberRepo = mock(IMemberRepository.class);
+    private final IAssociationRepository associationRepo = mock(IAssociationRepository.class);
+    private final MemberAssociationCache cache = new MemberAssociationCache(memberRepo, associationRepo, 2, 2);
+
+    private static Association association(long id, String name) {
+        Association association = new Association(name);
+        association.setId(id);
+        return association;
+    }
+
+    private static Member member(long id, Association association) {
+        Member member = new Member("Member " + id, association);
+        member.setId(id);
+        return member;
+    }
+
+    @Test
+    void aMissIsLoadedOnceThenServedFromTheCache() {
+        when(memberRepo.findAssociationIdById(1L)).thenReturn(Optional.of(10L));
+
+        assertEquals(Optional.of(10L), cache.associationIdOf(1L));
+        assertEquals(Optional.of(10L), cache.associationIdOf(1L));
+
+        verify(memberRepo, times(1)).findAssociationIdById(1L);
+    }
+
+    @Test
+    void unknownMembersAreNotCached() {
+        when(memberRepo.findAssociationIdById(1L)).thenReturn(Optional.empty());
+
+        assertEquals(Optional.empty(), cache.associationIdOf(1L));
+        assertEquals(Optional.empty(), cache.associationIdOf(1L));
+
+        verify(memberRepo, times(2)).findAssociationIdById(1L);
+    }
+
+    @Test
+    void theLeastRecentlyUsedMemberIsEvicted() {
+        when(memberRepo.findAssociationIdById(anyLong())).thenAnswer(call -> Optional.of(call.<Long>getArgument(0) * 10));
+
+        cache.associationIdOf(1L);
+        cache.associationIdOf(2L);
+        cache.associationIdOf(1L);
+        cache.associationIdOf(3L);
+
+        cache.associationIdOf(1L);
+        cache.associationIdOf(3L);
+        verify(memberRepo, times(1)).findAssociationIdById(1L);
+        verify(memberRepo, times(1)).findAssociationIdById(3L);
+
+        assertEquals(Optional.of(20L), cache.associationIdOf(2L));
+        verify(memberRepo, times(2)).findAssociationIdById(2L);
+    }
+
+    @Test
+    void savedMembersAndAssociationsAreCachedWithoutALoad() {
+        Association association = association(10L, "Emmaüs");
+        cache.memberSaved(member(1L, association));
+        cache.associationSaved(association);
+
+        assertEquals(Optional.of(10L), cache.associationIdOf(1L));
+        assertEquals(Optional.of("Emmaüs"), cache.associationName(10L));
+
+        cache.memberSaved(member(1L, association(11L, "Other")));
+        assertEquals(Optional.of(11L), cache.associationIdOf(1L));
+
+        verifyNoInteractions(memberRepo, associationRepo);
+    }
+
+    @Test
+    void associationNamesAreLoadedOnMiss() {
+        when(associationRepo.findById(10L)).thenReturn(Optional.of(association(10L, "Emmaüs")));
+
+        assertEquals(Optional.of("Emmaüs"), cache.associationName(10L));
+        assertEquals(Optional.of("Emmaüs"), cache.associationName(10L));
+
+        verify(associationRepo, times(1)).findById(10L);
+    }
+
+    @Test
+    void invalidSizesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new MemberAssociationCache(memberRepo, associationRepo, 0, 1));
+    }
+}
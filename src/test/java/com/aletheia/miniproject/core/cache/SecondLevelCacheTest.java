@@ -0,0 +1,57 @@
+package com.aletheia.miniproject.core.cache;
+
+import com.aletheia.miniproject.core.entities.Category;
+import com.aletheia.miniproject.core.facade.IRessourcerieFacade;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true"
+})
+class SecondLevelCacheTest {
+
+    @Autowired
+    private IRessourcerieFacade facade;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Category find(Long id) {
+        try (EntityManager em = entityManagerFactory.createEntityManager()) {
+            return em.find(Category.class, id);
+        }
+    }
+
+    @Test
+    void referenceDataRegionsAreDeclared() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        assertTrue(sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled());
+
+        List<String> regions = List.of(sessionFactory.getStatistics().getSecondLevelCacheRegionNames());
+        assertTrue(regions.containsAll(List.of("categories", "associations", "offer-categories", "offer-category-sets")),
+                regions::toString);
+    }
+
+    @Test
+    void cachedCategoryIsReadWithoutTheDatabase() {
+        Long id = facade.createCategory("Cached").getId();
+        CacheRegionStatistics region = entityManagerFactory.unwrap(SessionFactory.class)
+                .getStatistics().getCacheRegionStatistics("categories");
+
+        find(id);
+        long hits = region.getHitCount();
+        assertEquals("Cached", find(id).getName());
+
+        assertEquals(hits + 1, region.getHitCount());
+    }
+}
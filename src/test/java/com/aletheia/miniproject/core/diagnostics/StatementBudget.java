@@ -0,0 +1,45 @@
+package com.aletheia.miniproject.core.diagnostics;
+
+import com.aletheia.miniproject.core.diagnostics.SqlStatementRecorder.Recording;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Assertions on the number of SQL statements a facade call runs.
+ */
+public final class StatementBudget {
+
+    private StatementBudget() {
+    }
+
+    /**
+     * Runs the call and fails if it ran more than max statements.
+     */
+    public static <T> T assertAtMost(int max, Supplier<T> call) {
+        SqlStatementRecorder.Recorded<T> recorded = SqlStatementRecorder.record(call);
+        assertTrue(recorded.recording().total() <= max,
+                () -> "expected at most " + max + " statements, got " + recorded.recording());
+        return recorded.result();
+    }
+
+    public static void assertAtMost(int max, Runnable call) {
+        assertAtMost(max, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /**
+     * Fails if the two calls ran a different number of statements, e.g. the same
+     * query against a small and a large data set.
+     */
+    public static void assertSameCount(Runnable small, Runnable large) {
+        Recording expected = SqlStatementRecorder.record(small);
+        Recording actual = SqlStatementRecorder.record(large);
+        assertEquals(expected.total(), actual.total(),
+                () -> "statement count depends on data size:\n" + expected + "\nvs\n" + actual);
+    }
+}
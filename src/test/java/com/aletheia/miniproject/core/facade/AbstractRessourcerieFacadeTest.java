@@ -0,0 +1,342 @@
+package com.aletheia.miniproject.core.facade;
+
+import com.aletheia.miniproject.core.audit.TransitionJournal;
+import com.aletheia.miniproject.core.entities.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Behaviour every IRessourcerieFacade engine must have.
+ * Tests only look at the data they create, so they can share a database.
+ */
+public abstract class AbstractRessourcerieFacadeTest {
+
+    protected abstract IRessourcerieFacade facade();
+
+    protected abstract TransitionJournal transitions();
+
+    private Association association() {
+        return facade().createAssociation("Association " + UUID.randomUUID().toString().substring(0, 8));
+    }
+
+    private Category category() {
+        return facade().createCategory("Category " + UUID.randomUUID().toString().substring(0, 8));
+    }
+
+    private Offer offer(Member contact, String price, Category... categories) {
+        return facade().createOffer(contact.getId(), "Table", "Solid oak", new BigDecimal(price),
+                List.of(categories).stream().map(Category::getId).toList());
+    }
+
+    @Test
+    void addMemberJoinsAssociation() {
+        Association association = association();
+        Member member = facade().addMember(association.getId(), "  Alice  ");
+
+        assertNotNull(member.getId());
+        assertEquals("Alice", member.getName());
+        assertEquals(association.getId(), member.getAssociation().getId());
+    }
+
+    @Test
+    void createOfferIsOpenAndListedByCategory() {
+        Member contact = facade().addMember(association().getId(), "Contact");
+        Category furniture = category();
+        Category kitchen = category();
+
+        Offer offer = offer(contact, "12.50", furniture, kitchen);
+
+        assertEquals(OfferStatus.OPEN, offer.getStatus());
+        assertEquals(0, new BigDecimal("12.50").compareTo(offer.getPrice()));
+        assertNotNull(offer.getCreatedAt());
+        assertTrue(facade().listOffers().stream().anyMatch(o -> o.getId().equals(offer.getId())));
+        assertEquals(List.of(offer.getId()), facade().listOffersByCategory(furniture.getId()).stream().map(Offer::getId).toList());
+        assertEquals(List.of(offer.getId()), facade().listOffersByCategory(kitchen.getId()).stream().map(Offer::getId).toList());
+    }
+
+    @Test
+    void createOfferRejectsInvalidInput() {
+        Member contact = facade().addMember(association().getId(), "Contact");
+        Category category = category();
+
+        assertThrows(IllegalArgumentException.class, () -> facade().createOffer(-1L, "x", "x", BigDecimal.ONE, List.of(category.getId())));
+        assertThrows(IllegalArgumentException.class, () -> facade().createOffer(contact.getId(), " ", "x", BigDecimal.ONE, List.of(category.getId())));
+        assertThrows(IllegalArgumentException.class, () -> facade().createOffer(contact.getId(), "x", "x", new BigDecimal("-1"), List.of(category.getId())));
+        assertThrows(IllegalArgumentException.class, () -> facade().createOffer(contact.getId(), "x", "x", BigDecimal.ONE, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> facade().createOffer(contact.getId(), "x", "x", new BigDecimal("1e18"), List.of(category.getId())));
+        assertThrows(IllegalStateException.class, () -> facade().createOffer(Long.MAX_VALUE >>> 1, "x", "x", BigDecimal.ONE, List.of(category.getId())));
+        assertThrows(IllegalStateException.class, () -> facade().createOffer(contact.getId(), "x", "x", BigDecimal.ONE, List.of(Long.MAX_VALUE >>> 1)));
+    }
+
+    @Test
+    void demandsAreRankedFirstComeFirstServed() {
+        Member contact = facade().addMember(association().getId(), "Contact");
+        Offer offer = offer(contact, "5", category());
+        Long associationId = association().getId();
+
+        Demand first = facade().createDemand(offer.getId(), facade().addMember(associationId, "A").getId());
+        Demand second = facade().createDemand(offer.getId(), facade().addMember(associationId, "B").getId());
+        Demand third = facade().createDemand(offer.getId(), facade().addMember(associationId, "C").getId());
+
+        assertEquals(DemandStatus.PENDING, first.getStatus());
+        assertEquals(1L, facade().getDemandRank(first.getId()));
+        assertEquals(2L, facade().getDemandRank(second.getId()));
+        assertEquals(3L, facade().getDemandRank(third.getId()));
+
+        facade().cancelDemand(first.getId());
+
+        assertNull(facade().getDemandRank(first.getId()));
+        assertEquals(1L, facade().getDemandRank(second.getId()));
+        assertEquals(2L, facade().getDemandRank(third.getId()));
+        assertThrows(IllegalStateException.class, () -> facade().cancelDemand(first.getId()));
+    }
+
+    @Test
+    void duplicatePendingDemandIsRejected() {
+        Member contact = facade().addMember(association().getId(), "Contact");
+        Offer offer = offer(contact, "5", category());
+        Member member = facade().addMember(association().getId(), "Member");
+
+        Demand demand = facade().createDemand(offer.getId(), member.getId());
+        assertThrows(IllegalStateException.class, () -> facade().createDemand(offer.getId(), member.getId()));
+
+        facade().cancelDemand(demand.getId());
+        assertNotNull(facade().createDemand(offer.getId(), member.getId()));
+    }
+
+    @Test
+    void transitionsAreRecordedInCommitOrder() {
+        Member contact = facade().addMember(association().getId(), "Contact");
+        Offer offer = offer(contact, "5", category());
+        Long associationId = association().getId();
+        Demand first = facade().createDemand(offer.getId(), facade().addMember(associationId, "A").getId());
+        Demand second = facade().createDemand(offer.getId(), facade().addMember(associationId, "B").getId());
+        Demand third = facade().createDemand(offer.getId(), facade().addMember(associationId, "C").getId());
+        facade().cancelDemand(second.getId());
+        facade().validateOffer(contact.getId(), offer.getId());
+
+        List<String> history = transitions().ofOffer(offer.getId()).stream()
+                .map(t -> t.kind() + " " + t.id() + " " + t.from() + "->" + t.to())
+                .toList();
+        assertEquals(List.of(
+                "OFFER " + offer.getId() + " null->OPEN",
+                "DEMAND " + first.getId() + " null->PENDING",
+                "DEMAND " + second.getId() + " null->PENDING",
+                "DEMAND " + third.getId() + " null->PENDING",
+                "DEMAND " + second.getId() + " PENDING->CANCELLED",
+                "DEMAND " + first.getId() + " PENDING->APPROVED",
+                "DEMAND " + third.getId() + " PENDING->REJECTED",
+                "OFFER " + offer.getId() + " OPEN->CLOSED"
+        ), history);
+    }
+
+    @Test
+    void validateOfferApprovesOldestPendingDemand() {
+        Member contact = facade().addMember(association().getId(), "Contact");
+        Offer offer = offer(contact, "5", category());
+        Long associationId = association().getId();
+
+        Demand first = facade().createDemand(offer.getId(), facade().addMember(associationId, "A").getId());
+        Demand second = facade().createDemand(offer.getId(), facade().addMember(associationId, "B").getId());
+
+        Demand approved = facade().validateOffer(contact.getId(), offer.getId());
+
+        assertEquals(first.getId(), approved.getId());
+        assertEquals(DemandStatus.APPROVED, approved.getStatus());
+        assertNull(facade().getDemandRank(second.getId()));
+        assertThrows(IllegalStateException.class, () -> facade().validateOffer(contact.getId(), offer.getId()));
+        assertThrows(IllegalStateException.class,
+                () -> facade().createDemand(offer.getId(), facade().addMember(associationId, "Late").getId()));
+    }
+
+    @Test
+    void validateOfferWithoutDemandReturnsNull() {
+        Member contact = facade().addMember(association().getId(), "Contact");
+        Offer offer = offer(contact, "5", category());
+
+        assertNull(facade().validateOffer(contact.getId(), offer.getId()));
+    }
+
+    @Test
+    void onlyTheOwningAssociationCanValidate() {
+        Member contact = facade().addMember(association().getId(), "Contact");
+        Member outsider = facade().addMember(association().getId(), "Outsider");
+        Offer offer = offer(contact, "5", category());
+
+        assertThrows(IllegalStateException.class, () -> facade().validateOffer(outsider.getId(), offer.getId()));
+    }
+
+    @Test
+    void batchCallsReportEachItem() {
+        Member contact = facade().addMember(association().getId(), "Contact");
+        Offer withQueue = offer(contact, "5", category());
+        Offer withoutDemand = offer(contact, "6", category());
+        Offer foreign = offer(facade().addMember(association().getId(), "Other contact"), "7", category());
+        Long demanders = association().getId();
+        long unknown = Long.MAX_VALUE >>> 1;
+
+        Demand first = facade().createDemand(withQueue.getId(), facade().addMember(demanders, "A").getId());
+        Demand second = facade().createDemand(withQueue.getId(), facade().addMember(demanders, "B").getId());
+        Demand cancelled = facade().createDemand(foreign.getId(), facade().addMember(demanders, "C").getId());
+
+        List<BatchOutcome<Void>> cancellations = facade().cancelDemands(List.of(cancelled.getId(), unknown, cancelled.getId()));
+        assertEquals(List.of(cancelled.getId(), unknown), cancellations.stream().map(BatchOutcome::id).toList());
+        assertTrue(cancellations.get(0).isSucceeded());
+        assertFalse(cancellations.get(1).isSucceeded());
+        assertFalse(facade().cancelDemands(List.of(cancelled.getId())).getFirst().isSucceeded());
+
+        List<BatchOutcome<Demand>> validations = facade().validateOffers(contact.getId(),
+                List.of(withQueue.getId(), foreign.getId(), withoutDemand.getId(), unknown));
+
+        assertEquals(first.getId(), validations.get(0).result().getId());
+        assertEquals(DemandStatus.APPROVED, validations.get(0).result().getStatus());
+        assertNull(facade().getDemandRank(second.getId()));
+        assertEquals("Contact member is not allowed to validate this offer", validations.get(1).error());
+        assertTrue(validations.get(2).isSucceeded());
+        assertNull(validations.get(2).result());
+        assertFalse(validations.get(3).isSucceeded());
+        assertEquals(List.of(OfferStatus.CLOSED, OfferStatus.CLOSED, OfferStatus.OPEN),
+                facade().listOffers().stream()
+                        .filter(o -> List.of(withQueue.getId(), foreign.getId(), withoutDemand.getId()).contains(o.getId()))
+                        .sorted(Comparator.comparing(Offer::getId))
+                        .map(Offer::getStatus)
+                        .toList());
+        assertThrows(IllegalArgumentException.class, () -> facade().validateOffers(contact.getId(), List.of()));
+    }
+
+    @Test
+    void archiveOfferClosesIt() {
+        Member contact = facade().addMember(association().getId(), "Contact");
+        Offer offer = offer(contact, "5", category());
+
+        facade().archiveOffer(offer.getId());
+
+        Offer archived = facade().listOffers().stream().filter(o -> o.getId().equals(offer.getId())).findFirst().orElseThrow();
+        assertEquals(OfferStatus.ARCHIVED, archived.getStatus());
+        assertNotNull(archived.getClosedAt());
+    }
+
+    @Test
+    void priceRangeListsOpenOffersCheapestFirst() {
+        Member contact = facade().addMember(association().getId(), "Contact");
+        Category category = category();
+        Offer expensive = offer(contact, "30", category);
+        Offer cheap = offer(contact, "10.01", category);
+        Offer middle = offer(contact, "20", category);
+        offer(contact, "40", category);
+        Offer closed = offer(contact, "15", category);
+        facade().validateOffer(contact.getId(), closed.getId());
+
+        List<Long> ids = facade().listOffersByPriceRange(new BigDecimal("10.005"), new BigDecimal("30"), category.getId())
+                .stream().map(Offer::getId).toList();
+
+        assertEquals(List.of(cheap.getId(), middle.getId(), expensive.getId()), ids);
+        assertThrows(IllegalArgumentException.class, () -> facade().listOffersByPriceRange(BigDecimal.TEN, BigDecimal.ONE, null));
+        assertEquals(List.of(), facade().listOffersByPriceRange(new BigDecimal("1e18"), null, category.getId()));
+        assertEquals(List.of(), facade().listOffersByPriceRange(new BigDecimal("1e18"), new BigDecimal("1e19"), category.getId()));
+    }
+
+    @Test
+    void statisticsCountOffersAndWinsPerAssociation() {
+        Association giver = association();
+        Association taker = association();
+        Member contact = facade().addMember(giver.getId(), "Contact");
+        Member member = facade().addMember(taker.getId(), "Member");
+        Category category = category();
+
+        Offer won = offer(contact, "1", category);
+        offer(contact, "2", category);
+        facade().createDemand(won.getId(), member.getId());
+        facade().validateOffer(contact.getId(), won.getId());
+
+        Map<Integer, Integer> offers = facade().getOfferCountByAssociation();
+        Map<Integer, Integer> wins = facade().getOfferWinsByAssociation();
+
+        assertEquals(2, offers.get(giver.getId().intValue()));
+        assertNull(offers.get(taker.getId().intValue()));
+        assertEquals(1, wins.get(taker.getId().intValue()));
+        assertNull(wins.get(giver.getId().intValue()));
+    }
+
+    @Test
+    void recommendationsFollowCategoriesWonTogether() {
+        Member contact = facade().addMember(association().getId(), "Contact");
+        Long takers = association().getId();
+        Member veteran = facade().addMember(takers, "Veteran");
+        Member newcomer = facade().addMember(takers, "Newcomer");
+        Category tools = category();
+        Category garden = category();
+        Category toys = category();
+
+        for (Object[] win : List.of(
+                new Object[]{veteran, offer(contact, "1", tools)},
+                new Object[]{veteran, offer(contact, "1", garden)},
+                new Object[]{newcomer, offer(contact, "1", tools)})) {
+            Offer offer = (Offer) win[1];
+            facade().createDemand(offer.getId(), ((Member) win[0]).getId());
+            facade().validateOffer(contact.getId(), offer.getId());
+        }
+        Offer rake = offer(contact, "3", garden);
+        Offer doll = offer(contact, "3", toys);
+
+        List<Long> recommended = facade().recommendOffers(newcomer.getId(), 50).stream().map(Offer::getId).toList();
+
+        assertTrue(recommended.contains(rake.getId()));
+        assertFalse(recommended.contains(doll.getId()));
+        assertThrows(IllegalArgumentException.class, () -> facade().recommendOffers(newcomer.getId(), 0));
+    }
+
+    @Test
+    void unknownIdsAreReported() {
+        long unknown = Long.MAX_VALUE >>> 1;
+        assertThrows(IllegalStateException.class, () -> facade().addMember(unknown, "x"));
+        assertThrows(IllegalStateException.class, () -> facade().getDemandRank(unknown));
+        assertThrows(IllegalStateException.class, () -> facade().cancelDemand(unknown));
+        assertThrows(IllegalStateException.class, () -> facade().archiveOffer(unknown));
+        assertThrows(IllegalArgumentException.class, () -> facade().createDemand(0L, 1L));
+        assertThrows(IllegalArgumentException.class, () -> facade().listOffersByCategory(null));
+    }
+
+    /**
+     * Run with -Dbenchmark=true to compare engines on the same workload.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmark() {
+        Long associationId = association().getId();
+        Member contact = facade().addMember(associationId, "Contact");
+        List<Long> members = java.util.stream.IntStream.range(0, 10)
+                .mapToObj(i -> facade().addMember(associationId, "M" + i).getId())
+                .toList();
+        Category category = category();
+
+        int rounds = Integer.getInteger("benchmark.rounds", 500);
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            Offer offer = offer(contact, "5", category);
+            for (Long m : members) {
+                Demand d = facade().createDemand(offer.getId(), m);
+                facade().getDemandRank(d.getId());
+            }
+            facade().validateOffer(contact.getId(), offer.getId());
+        }
+        long writeNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            facade().listOffersByCategory(category.getId());
+        }
+        long readNanos = System.nanoTime() - start;
+
+        System.out.printf("[benchmark] %s: %d rounds (1 offer, %d demands + ranks, 1 validation) in %d ms; 20 category listings in %d ms%n",
+                getClass().getSimpleName(), rounds, members.size(), writeNanos / 1_000_000, readNanos / 1_000_000);
+    }
+}
@@ -0,0 +1,134 @@
+package com.aletheia.miniproject.core.facade;
+
+import com.aletheia.miniproject.core.audit.TransitionJournal;
+import com.aletheia.miniproject.core.entities.Association;
+import com.aletheia.miniproject.core.entities.Demand;
+import com.aletheia.miniproject.core.entities.DemandStatus;
+import com.aletheia.miniproject.core.entities.Member;
+import com.aletheia.miniproject.core.entities.Offer;
+import com.aletheia.miniproject.core.readmodel.OfferViewSource;
+import com.aletheia.miniproject.repos.IDemandRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.aletheia.miniproject.core.diagnostics.StatementBudget.assertAtMost;
+import static com.aletheia.miniproject.core.diagnostics.StatementBudget.assertSameCount;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "ressourcerie.ratelimit.member.burst=1000000",
+        "ressourcerie.ratelimit.offer.burst=1000000",
+        "ressourcerie.ratelimit.rank.burst=1000000"
+})
+class RessourcerieFacadeTest extends AbstractRessourcerieFacadeTest {
+
+    @Autowired
+    private IRessourcerieFacade facade;
+
+    @Autowired
+    private TransitionJournal transitions;
+
+    @Autowired
+    private IDemandRepository demandRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Override
+    protected IRessourcerieFacade facade() {
+        return facade;
+    }
+
+    @Override
+    protected TransitionJournal transitions() {
+        return transitions;
+    }
+
+    private List<Demand> queue(int demands) {
+        Long associationId = facade.createAssociation("Budget association").getId();
+        Member contact = facade.addMember(associationId, "Contact");
+        Offer offer = facade.createOffer(contact.getId(), "Chair", "Pine", BigDecimal.ONE,
+                List.of(facade.createCategory("Budget category").getId()));
+
+        List<Demand> queue = new ArrayList<>();
+        for (int i = 0; i < demands; i++) {
+            queue.add(facade.createDemand(offer.getId(), facade.addMember(associationId, "Demander " + i).getId()));
+        }
+        return queue;
+    }
+
+    @Test
+    void createDemandStaysWithinStatementBudget() {
+        Long offerId = queue(1).getFirst().getOffer().getId();
+        Long memberId = facade.addMember(facade.createAssociation("Other").getId(), "Demander").getId();
+
+        assertAtMost(4, () -> facade.createDemand(offerId, memberId));
+    }
+
+    @Test
+    void rankLookupDoesNotDependOnQueueLength() {
+        Demand first = queue(1).getFirst();
+        Demand last = queue(10).getLast();
+
+        assertSameCount(() -> facade.getDemandRank(first.getId()), () -> facade.getDemandRank(last.getId()));
+    }
+
+    @Test
+    void batchValidationDoesNotDependOnBatchSize() {
+        Long associationId = facade.createAssociation("Batch association").getId();
+        Long contactId = facade.addMember(associationId, "Contact").getId();
+        Long categoryId = facade.createCategory("Batch category").getId();
+        List<Long> offerIds = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Long offerId = facade.createOffer(contactId, "Lamp", "Brass", BigDecimal.ONE, List.of(categoryId)).getId();
+            for (int j = 0; j < 3; j++) {
+                facade.createDemand(offerId, facade.addMember(associationId, "Demander").getId());
+            }
+            offerIds.add(offerId);
+        }
+
+        assertSameCount(() -> facade.validateOffers(contactId, offerIds.subList(0, 1)),
+                () -> facade.validateOffers(contactId, offerIds.subList(1, 6)));
+    }
+
+    @Test
+    void batchCallsKeepTheCallersPersistenceContext() {
+        Demand demand = queue(1).getFirst();
+        Long associationId = facade.createAssociation("Unrelated").getId();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Association unrelated = entityManager.find(Association.class, associationId);
+            demandRepo.findById(demand.getId()).orElseThrow();
+
+            facade.cancelDemands(List.of(demand.getId()));
+
+            assertTrue(entityManager.contains(unrelated));
+            assertEquals(DemandStatus.CANCELLED, demandRepo.findById(demand.getId()).orElseThrow().getStatus());
+        });
+    }
+
+    @Test
+    void offerViewsAreASingleQuery() {
+        queue(1);
+
+        assertAtMost(1, ((OfferViewSource) facade)::offerViews);
+    }
+
+    @Test
+    void winsByAssociationIsASingleQuery() {
+        assertAtMost(1, facade::getOfferWinsByAssociation);
+        assertAtMost(1, facade::getOfferCountByAssociation);
+    }
+}
@@ -0,0 +1,73 @@
+package com.aletheia.miniproject.core.generator;
+
+import com.aletheia.miniproject.core.facade.IRessourcerieFacade;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The generator writes straight into the Hibernate-generated JPA schema
+@SpringBootTest(properties = "ressourcerie.storage.engine=jpa")
+class SyntheticDataGeneratorTest {
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private IRessourcerieFacade facade;
+
+    private static GeneratorSettings settings(long seed) {
+        return new GeneratorSettings(seed, 5, 10, 8, 200, 3, 1.0, 4, 1.5, 0.3, 64);
+    }
+
+    /**
+     * Queue lengths and prices of the offers generated after the given id, in order.
+     */
+    private List<String> shapeAfter(long offerId) {
+        return jdbc.queryForList("""
+                select o.price_cents || ':' || o.status || ':' || (select count(*) from demands d where d.offer_id = o.id)
+                from offers o where o.id > ? order by o.id
+                """, String.class, offerId);
+    }
+
+    @Test
+    void sameSeedGivesTheSameDataset() {
+        Long before = jdbc.queryForObject("select coalesce(max(id), 0) from offers", Long.class);
+        SyntheticDataGenerator.Report first = generator.generate(settings(7));
+        List<String> firstShape = shapeAfter(before);
+
+        Long middle = jdbc.queryForObject("select max(id) from offers", Long.class);
+        SyntheticDataGenerator.Report second = generator.generate(settings(7));
+
+        assertEquals(200, first.offers());
+        assertEquals(50, first.members());
+        assertEquals(first.demands(), second.demands());
+        assertEquals(first.offerCategories(), second.offerCategories());
+        assertEquals(firstShape.subList(0, 200), shapeAfter(middle));
+    }
+
+    @Test
+    void associationsGetSeveralMembers() {
+        Long before = jdbc.queryForObject("select coalesce(max(id), 0) from associations", Long.class);
+        generator.generate(settings(3));
+
+        List<Integer> membersPerAssociation = jdbc.queryForList(
+                "select count(*) from members where association_id > ? group by association_id", Integer.class, before);
+        assertEquals(List.of(10, 10, 10, 10, 10), membersPerAssociation);
+    }
+
+    @Test
+    void generatedRowsAreReadableThroughTheFacade() {
+        Long before = jdbc.queryForObject("select coalesce(max(id), 0) from categories", Long.class);
+        generator.generate(settings(11));
+
+        assertFalse(facade.listOffersByCategory(before + 1).isEmpty());
+    }
+}
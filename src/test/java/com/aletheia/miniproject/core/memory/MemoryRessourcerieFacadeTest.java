@@ -0,0 +1,175 @@
+package com.aletheia.miniproject.core.memory;
+
+import com.aletheia.miniproject.core.admission.RateLimiter;
+import com.aletheia.miniproject.core.audit.TransitionJournal;
+import com.aletheia.miniproject.core.entities.*;
+import com.aletheia.miniproject.core.facade.AbstractRessourcerieFacadeTest;
+import com.aletheia.miniproject.core.facade.IRessourcerieFacade;
+import com.aletheia.miniproject.core.readmodel.OfferReadModel;
+import com.aletheia.miniproject.core.readmodel.OfferViewSource;
+import com.aletheia.miniproject.core.recommend.ApprovalHistory;
+import com.aletheia.miniproject.core.recommend.OfferRecommender;
+import com.aletheia.miniproject.notifications.DemandQueueSource;
+import com.aletheia.miniproject.notifications.DemandRankNotifier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "ressourcerie.storage.engine=memory",
+        "ressourcerie.memory.snapshot-interval-seconds=0",
+        "ressourcerie.ratelimit.member.burst=1000000",
+        "ressourcerie.ratelimit.offer.burst=1000000",
+        "ressourcerie.ratelimit.rank.burst=1000000"
+})
+class MemoryRessourcerieFacadeTest extends AbstractRessourcerieFacadeTest {
+
+    @DynamicPropertySource
+    static void directory(DynamicPropertyRegistry registry) throws IOException {
+        Path directory = Files.createTempDirectory("ressourcerie-memory");
+        registry.add("ressourcerie.memory.directory", directory::toString);
+    }
+
+    @Autowired
+    private IRessourcerieFacade facade;
+
+    @Autowired
+    private TransitionJournal transitions;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<AutoCloseable> opened = new ArrayList<>();
+
+    @Override
+    protected IRessourcerieFacade facade() {
+        return facade;
+    }
+
+    @Override
+    protected TransitionJournal transitions() {
+        return transitions;
+    }
+
+    @Test
+    void usesTheMemoryEngine() {
+        assertInstanceOf(MemoryRessourcerieFacade.class, facade);
+    }
+
+    @Test
+    void stateSurvivesJournalReplayAndSnapshot(@TempDir Path directory) throws IOException {
+        MemoryRessourcerieFacade writer = open(directory);
+        Association association = writer.createAssociation("Emmaüs");
+        Member contact = writer.addMember(association.getId(), "Contact");
+        Member member = writer.addMember(association.getId(), "Member");
+        Category category = writer.createCategory("Furniture");
+        Offer offer = writer.createOffer(contact.getId(), "Table", "Solid oak", new BigDecimal("49.90"), List.of(category.getId()));
+        Demand demand = writer.createDemand(offer.getId(), member.getId());
+        writer.closeWithoutSnapshot();
+
+        // Journal only: the writer never wrote a snapshot
+        MemoryRessourcerieFacade replayed = open(directory);
+        assertEquals(1L, replayed.getDemandRank(demand.getId()));
+        replayed.validateOffer(contact.getId(), offer.getId());
+        replayed.close();
+
+        // Snapshot only: close() snapshotted and emptied the journal
+        MemoryRessourcerieFacade restored = open(directory);
+        Offer reloaded = restored.listOffersByCategory(category.getId()).getFirst();
+        assertEquals(OfferStatus.CLOSED, reloaded.getStatus());
+        assertEquals(0, new BigDecimal("49.90").compareTo(reloaded.getPrice()));
+        assertEquals(1, restored.getOfferWinsByAssociation().get(association.getId().intValue()));
+        assertEquals(0, Files.size(directory.resolve("memory").resolve("journal.bin")));
+        restored.close();
+    }
+
+    @Test
+    void changesAreNotVisibleWhenTheJournalFails(@TempDir Path directory) throws IOException {
+        MemoryRessourcerieFacade engine = open(directory);
+        Association association = engine.createAssociation("Emmaüs");
+        Member contact = engine.addMember(association.getId(), "Contact");
+        Category category = engine.createCategory("Furniture");
+        engine.closeWithoutSnapshot();
+
+        assertThrows(IllegalStateException.class, () -> engine.createOffer(contact.getId(), "Table", "Solid oak",
+                BigDecimal.ONE, List.of(category.getId())));
+        assertTrue(engine.listOffers().isEmpty());
+
+        MemoryRessourcerieFacade reopened = open(directory);
+        assertTrue(reopened.listOffers().isEmpty());
+        assertEquals(association.getId(), reopened.associationIdOfMember(contact.getId()));
+        reopened.close();
+    }
+
+    @Test
+    void concurrentWritesAreAllJournaled(@TempDir Path directory) throws Exception {
+        MemoryRessourcerieFacade writer = open(directory);
+        Long associationId = writer.createAssociation("Emmaüs").getId();
+
+        List<Future<Member>> added = new ArrayList<>();
+        try (ExecutorService threads = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 200; i++) {
+                String name = "Member " + i;
+                added.add(threads.submit(() -> writer.addMember(associationId, name)));
+            }
+        }
+        writer.closeWithoutSnapshot();
+
+        MemoryRessourcerieFacade replayed = open(directory);
+        for (Future<Member> member : added) {
+            assertEquals(associationId, replayed.associationIdOfMember(member.get().getId()));
+        }
+        replayed.close();
+    }
+
+    /**
+     * Opens an engine on the directory with collaborators of its own, so that reopening and
+     * replaying do not push offers, demands or transitions into the context's beans.
+     */
+    private MemoryRessourcerieFacade open(Path directory) throws IOException {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        OfferReadModel readModel = new OfferReadModel(beans.getBeanProvider(OfferViewSource.class), transactionManager, event -> {
+        }, 0);
+        DemandRankNotifier rankNotifier = new DemandRankNotifier(beans.getBeanProvider(DemandQueueSource.class), 16, 60_000);
+        RateLimiter rateLimiter = new RateLimiter(1_000_000, 60, 1_000_000, 60, 1_000_000, 60, 0);
+        TransitionJournal transitions = new TransitionJournal(directory.resolve("audit-" + opened.size()).toString(), 1024, false);
+        opened.add(readModel::stop);
+        opened.add(rankNotifier::shutdown);
+        opened.add(rateLimiter::stop);
+        opened.add(transitions::close);
+
+        MemoryRessourcerieFacade engine = new MemoryRessourcerieFacade(
+                rankNotifier,
+                rateLimiter,
+                readModel,
+                new OfferRecommender(beans.getBeanProvider(ApprovalHistory.class), readModel),
+                transitions,
+                directory.resolve("memory").toString(), true, 0);
+        beans.addBean("engine", engine);
+        return engine;
+    }
+
+    @AfterEach
+    void closeOpened() throws Exception {
+        for (AutoCloseable c : opened) c.close();
+        opened.clear();
+    }
+}
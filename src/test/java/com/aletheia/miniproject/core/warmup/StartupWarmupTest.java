@@ -0,0 +1,70 @@
+package com.aletheia.miniproject.core.warmup;
+
+import com.aletheia.miniproject.repos.IMemberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "ressourcerie.warmup.iterations=1")
+class StartupWarmupTest {
+    private static final List<String> steps = new CopyOnWriteArrayList<>();
+
+    /**
+     * Makes the warm-up's query priming fail, and records the readiness state it ran
+     * under and every readiness change, in order.
+     */
+    @TestConfiguration
+    static class FailingQueryStep {
+
+        @Bean
+        static BeanPostProcessor failingMemberLookup(ApplicationAvailability availability) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof IMemberRepository)) return bean;
+                    return Proxy.newProxyInstance(bean.getClass().getClassLoader(),
+                            ClassUtils.getAllInterfaces(bean), (proxy, method, args) -> {
+                                if (method.getName().equals("findAssociationIdById") && args[0].equals(0L)) {
+                                    steps.add("warm-up query under " + availability.getReadinessState());
+                                    throw new IllegalStateException("Simulated warm-up failure");
+                                }
+                                try {
+                                    return method.invoke(bean, args);
+                                } catch (InvocationTargetException e) {
+                                    throw e.getCause();
+                                }
+                            });
+                }
+            };
+        }
+
+        @Bean
+        ApplicationListener<AvailabilityChangeEvent<ReadinessState>> readinessRecorder() {
+            return event -> steps.add("readiness " + event.getState());
+        }
+    }
+
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @Test
+    void readinessWaitsForTheWarmupAndSurvivesAFailedStep() {
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, availability.getReadinessState());
+        assertEquals(List.of("warm-up query under REFUSING_TRAFFIC", "readiness ACCEPTING_TRAFFIC"), steps);
+    }
+}
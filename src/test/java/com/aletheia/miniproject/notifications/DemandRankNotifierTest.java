@@ -0,0 +1,110 @@
+package com.aletheia.miniproject.notifications;
+
+import com.aletheia.miniproject.core.entities.Demand;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DemandRankNotifierTest {
+    private static final long OFFER_ID = 10L;
+
+    private final List<String> reads = new CopyOnWriteArrayList<>();
+    private final CountDownLatch snapshotStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseSnapshot = new CountDownLatch(1);
+    private final StaticListableBeanFactory beans = new StaticListableBeanFactory();
+    private final DemandRankNotifier notifier = new DemandRankNotifier(beans.getBeanProvider(DemandQueueSource.class), 16, 60_000);
+
+    /**
+     * Queue source whose snapshot read blocks until the test releases it.
+     */
+    private final DemandQueueSource slowSnapshot = new DemandQueueSource() {
+        @Override
+        public Long offerIdOfDemand(Long demandId) {
+            return OFFER_ID;
+        }
+
+        @Override
+        public Long associationIdOfOffer(Long offerId) {
+            return 1L;
+        }
+
+        @Override
+        public Long associationIdOfMember(Long memberId) {
+            return 1L;
+        }
+
+        @Override
+        public List<Demand> demandsOf(Long offerId) {
+            snapshotStarted.countDown();
+            try {
+                releaseSnapshot.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            reads.add("snapshot");
+            return List.of();
+        }
+    };
+
+    @AfterEach
+    void shutdown() {
+        notifier.shutdown();
+    }
+
+    @Test
+    void aChangeDuringTheSnapshotIsReadAfterIt() throws Exception {
+        beans.addBean("queues", slowSnapshot);
+
+        CompletableFuture<Void> subscribe = CompletableFuture.runAsync(() -> notifier.subscribeDemand(1L));
+        assertTrue(snapshotStarted.await(5, TimeUnit.SECONDS));
+        assertTrue(notifier.hasSubscribers(OFFER_ID));
+
+        Thread change = Thread.ofVirtual().start(() -> notifier.queueChanged(OFFER_ID, () -> {
+            reads.add("change");
+            return List.of();
+        }));
+        change.join(200);
+        assertEquals(List.of(), reads);
+
+        releaseSnapshot.countDown();
+        subscribe.get(5, TimeUnit.SECONDS);
+        change.join(5_000);
+        assertEquals(List.of("snapshot", "change"), reads);
+    }
+
+    @Test
+    void aFailedSnapshotLeavesNoSubscriber() {
+        beans.addBean("queues", new DemandQueueSource() {
+            @Override
+            public Long offerIdOfDemand(Long demandId) {
+                return OFFER_ID;
+            }
+
+            @Override
+            public Long associationIdOfOffer(Long offerId) {
+                return 1L;
+            }
+
+            @Override
+            public Long associationIdOfMember(Long memberId) {
+                return 1L;
+            }
+
+            @Override
+            public List<Demand> demandsOf(Long offerId) {
+                throw new IllegalStateException("Offer not found: " + offerId);
+            }
+        });
+
+        assertThrows(IllegalStateException.class, () -> notifier.subscribeDemand(1L));
+        assertFalse(notifier.hasSubscribers(OFFER_ID));
+    }
+}
@@ -0,0 +1,53 @@
+package com.aletheia.miniproject.notifications;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DropOldestBufferTest {
+
+    @Test
+    void fullBufferDropsTheOldestEvent() throws InterruptedException {
+        DropOldestBuffer<String> buffer = new DropOldestBuffer<>(2);
+        buffer.push("rank 3");
+        buffer.push("rank 2");
+        buffer.push("rank 1");
+
+        assertEquals("rank 2", buffer.take());
+        assertEquals("rank 1", buffer.take());
+    }
+
+    @Test
+    void closeWakesTheReaderAndRefusesLaterEvents() throws Exception {
+        DropOldestBuffer<String> buffer = new DropOldestBuffer<>(1);
+        CompletableFuture<String> reader = CompletableFuture.supplyAsync(() -> {
+            try {
+                return buffer.take();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        buffer.close();
+        assertNull(reader.get(5, TimeUnit.SECONDS));
+
+        buffer.push("rank 1");
+        assertNull(buffer.take());
+    }
+
+    @Test
+    void concurrentPushesCannotUndoAClose() throws Exception {
+        DropOldestBuffer<Integer> buffer = new DropOldestBuffer<>(1);
+        Thread pusher = Thread.ofVirtual().start(() -> {
+            for (int i = 0; i < 100_000; i++) buffer.push(i);
+        });
+
+        buffer.close();
+        pusher.join();
+
+        assertNull(buffer.take());
+    }
+}
@@ -0,0 +1,121 @@
+package com.aletheia.miniproject.sharding;
+
+import com.aletheia.miniproject.core.entities.Association;
+import com.aletheia.miniproject.core.entities.Category;
+import com.aletheia.miniproject.core.entities.Demand;
+import com.aletheia.miniproject.core.entities.Member;
+import com.aletheia.miniproject.core.entities.Offer;
+import com.aletheia.miniproject.core.facade.IRessourcerieFacade;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "ressourcerie.sharding.enabled=true",
+        "ressourcerie.sharding.directory=${java.io.tmpdir}/ressourcerie-test-shards-${random.uuid}",
+        "ressourcerie.ratelimit.member.burst=1000000",
+        "ressourcerie.ratelimit.offer.burst=1000000",
+        "ressourcerie.ratelimit.rank.burst=1000000"
+})
+class ShardRouterTest {
+
+    @Autowired
+    private IRessourcerieFacade facade;
+
+    @Autowired
+    private ShardRouter router;
+
+    @Autowired
+    private ShardRoutingDataSource routing;
+
+    private Association association() {
+        return facade.createAssociation("Association " + UUID.randomUUID().toString().substring(0, 8));
+    }
+
+    private Category category() {
+        return facade.createCategory("Category " + UUID.randomUUID().toString().substring(0, 8));
+    }
+
+    private Offer offer(Association association, Category category) {
+        Member contact = facade.addMember(association.getId(), "Contact");
+        return facade.createOffer(contact.getId(), "Table", "Solid oak", BigDecimal.TEN, List.of(category.getId()));
+    }
+
+    private JdbcTemplate shard(Association association) {
+        return new JdbcTemplate(routing.shard(association.getId()));
+    }
+
+    private int count(JdbcTemplate jdbc, String table, Long id) {
+        return jdbc.queryForObject("select count(*) from " + table + " where id = ?", Integer.class, id);
+    }
+
+    @Test
+    void offersAndDemandsLandOnTheAssociationShard() {
+        Association owner = association();
+        Association other = association();
+        Offer offer = offer(owner, category());
+        Demand demand = facade.createDemand(offer.getId(), facade.addMember(other.getId(), "Demander").getId());
+
+        assertEquals(owner.getId(), router.shardOf(offer.getId()));
+        assertEquals(owner.getId(), router.shardOf(demand.getId()));
+
+        assertEquals(1, count(shard(owner), "offers", offer.getId()));
+        assertEquals(1, count(shard(owner), "demands", demand.getId()));
+        assertEquals(1, shard(owner).queryForObject(
+                "select count(*) from offers_categories where offer_id = ?", Integer.class, offer.getId()));
+
+        assertEquals(0, count(shard(other), "offers", offer.getId()));
+        assertEquals(0, count(shard(other), "demands", demand.getId()));
+        assertEquals(0, count(new JdbcTemplate(routing), "offers", offer.getId()));
+        assertEquals(0, count(new JdbcTemplate(routing), "demands", demand.getId()));
+    }
+
+    @Test
+    void fanOutReadsMergeAllShards() {
+        Category category = category();
+        Offer first = offer(association(), category);
+        Offer second = offer(association(), category);
+
+        assertEquals(routing.shardIds().size() + 1, router.fanOut(() -> 1).size());
+
+        assertTrue(facade.listOffers().stream().map(Offer::getId).toList()
+                .containsAll(List.of(first.getId(), second.getId())));
+        assertEquals(List.of(first.getId(), second.getId()),
+                facade.listOffersByCategory(category.getId()).stream().map(Offer::getId).sorted().toList());
+    }
+
+    @Test
+    void referenceRowsAreReplicatedToEveryShard() {
+        Association existing = association();
+        offer(existing, category());
+
+        Association association = association();
+        Member member = facade.addMember(association.getId(), "Member");
+        Category category = category();
+
+        Association later = association();
+        offer(later, category());
+
+        for (Association shardOwner : List.of(existing, later)) {
+            JdbcTemplate shard = shard(shardOwner);
+            assertEquals(1, count(shard, "associations", association.getId()));
+            assertEquals(1, count(shard, "members", member.getId()));
+            assertEquals(1, count(shard, "categories", category.getId()));
+        }
+
+        facade.createOffer(member.getId(), "Lamp", "Brass", BigDecimal.ONE, List.of(category.getId()));
+        for (Long shardId : routing.shardIds()) {
+            JdbcTemplate shard = new JdbcTemplate(routing.shard(shardId));
+            assertEquals(1, count(shard, "associations", association.getId()), "shard " + shardId);
+            assertEquals(1, count(shard, "members", member.getId()), "shard " + shardId);
+            assertEquals(1, count(shard, "categories", category.getId()), "shard " + shardId);
+        }
+    }
+}